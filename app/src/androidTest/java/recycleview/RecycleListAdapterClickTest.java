@@ -0,0 +1,94 @@
+package recycleview;
+
+import android.app.Instrumentation;
+import android.os.Debug;
+import android.support.v7.widget.RecyclerView;
+import android.test.InstrumentationTestCase;
+import android.view.View;
+import android.view.ViewGroup;
+
+import java.util.ArrayList;
+
+/**
+ * @author yuanzheng
+ * clicks on a data row must not allocate once the click path is warm.
+ * the click delay is 0, so the listener is called inside performClick and the count covers only the click
+ * and its dispatch, not the frames and the ripple a delayed dispatch would wait through
+ */
+public class RecycleListAdapterClickTest extends InstrumentationTestCase {
+
+    private static final int WARMUP_CLICKS = 10;
+    private static final int CLICKS = 10;
+
+    private View mItemView;
+    private int mClickCount;
+    private long mAllocCount;
+
+    public void testClickAllocatesNothing() throws Exception {
+        final Instrumentation instrumentation = getInstrumentation();
+        instrumentation.runOnMainSync(new Runnable() {
+            @Override
+            public void run() {
+                ArrayList<String> data = new ArrayList<String>();
+                data.add("item");
+                TestAdapter adapter = new TestAdapter(data);
+                adapter.setClickDelay(0);
+                adapter.setOnItemClickListener(new RecycleListenerInterface.OnItemClickListener<String>() {
+                    @Override
+                    public void onItemClick(View view, String item) {
+                        mClickCount++;
+                    }
+                });
+                RecyclerView recyclerView = new RecyclerView(instrumentation.getTargetContext());
+                recyclerView.setAdapter(adapter);
+                RecyclerView.ViewHolder holder = adapter.createViewHolder(recyclerView,
+                        adapter.getItemViewType(0));
+                adapter.bindViewHolder(holder, 0);
+                mItemView = holder.itemView;
+            }
+        });
+        instrumentation.runOnMainSync(new Runnable() {
+            @Override
+            public void run() {
+                for (int i = 0; i < WARMUP_CLICKS; i++) {
+                    mItemView.performClick();
+                }
+                mClickCount = 0;
+                Debug.startAllocCounting();
+                try {
+                    long start = Debug.getThreadAllocCount();
+                    for (int i = 0; i < CLICKS; i++) {
+                        mItemView.performClick();
+                    }
+                    mAllocCount = Debug.getThreadAllocCount() - start;
+                } finally {
+                    Debug.stopAllocCounting();
+                }
+            }
+        });
+        assertEquals("clicks dispatched", CLICKS, mClickCount);
+        assertEquals("allocations of " + CLICKS + " clicks", 0, mAllocCount);
+    }
+
+    private static final class TestAdapter extends RecycleListAdapter<String> {
+
+        TestAdapter(ArrayList<String> data) {
+            super(data);
+        }
+
+        @Override
+        public RecyclerView.ViewHolder onCreateDataViewHolder(ViewGroup parent) {
+            return new DefaultSimpleViewHolder(new View(parent.getContext()));
+        }
+
+        @Override
+        public RecyclerView.ViewHolder onCreateEmptyViewHolder(ViewGroup parent) {
+            return new DefaultSimpleViewHolder(new View(parent.getContext()));
+        }
+
+        @Override
+        public void onBindDataViewHolder(RecyclerView.ViewHolder holder, int position) {
+            holder.itemView.setTag(mData.get(position));
+        }
+    }
+}
@@ -11,12 +11,26 @@ import java.util.ArrayList;
 
 import recycleview.DefaultSimpleViewHolder;
 import recycleview.RecycleListAdapter;
+import recycleview.RecycleTextLayoutCache;
+import recycleview.RecycleTextView;
 
 /**
  * Created by yefeng on 8/5/15.
  * github:yefengfreedom
  */
 public class SimpleAdapter extends RecycleListAdapter<String> {
+    /**
+     * rows after the bound one whose text layouts are computed ahead
+     */
+    private static final int PRECOMPUTE_ROWS = 10;
+    private static final RecycleTextLayoutCache.TextSource<String> TEXT_SOURCE =
+            new RecycleTextLayoutCache.TextSource<String>() {
+                @Override
+                public CharSequence getText(String item) {
+                    return item;
+                }
+            };
+    private final RecycleTextLayoutCache mTextLayoutCache = new RecycleTextLayoutCache(256 * 1024);
 
     public SimpleAdapter(ArrayList<String> data) {
         super(data);
@@ -36,7 +50,9 @@ public class SimpleAdapter extends RecycleListAdapter<String> {
 
     @Override
     public void onBindDataViewHolder(RecyclerView.ViewHolder viewHolder, int i) {
-        ((ViewHolder) viewHolder).mText.setText(mData.get(i));
+        RecycleTextView text = ((ViewHolder) viewHolder).mText;
+        text.setText(mData.get(i), mTextLayoutCache);
+        mTextLayoutCache.precompute(mData, i + 1, PRECOMPUTE_ROWS, TEXT_SOURCE, text);
         viewHolder.itemView.setTag(mData.get(i));
     }
 
@@ -82,11 +98,11 @@ public class SimpleAdapter extends RecycleListAdapter<String> {
 
     private static final class ViewHolder extends RecyclerView.ViewHolder {
 
-        TextView mText;
+        RecycleTextView mText;
 
         public ViewHolder(View itemView) {
             super(itemView);
-            mText = (TextView) itemView.findViewById(R.id.txt_adapter_item);
+            mText = (RecycleTextView) itemView.findViewById(R.id.txt_adapter_item);
         }
     }
 
@@ -1,25 +1,120 @@
 package recycleview;
 
 import android.content.Context;
-import android.graphics.Canvas;
 import android.graphics.drawable.Drawable;
 import android.support.v7.widget.LinearLayoutManager;
 import android.support.v7.widget.RecyclerView;
+import android.support.v7.widget.StaggeredGridLayoutManager;
 import android.util.AttributeSet;
 import android.view.View;
 
 import com.liangren.lrrecycleview.R;
+
+import java.util.List;
+
 /**
  * @author yuanzheng
  */
 public class AutoLoadMoreRecyclerView extends RecyclerView {
     private static final String TAG = "AutoLoadMoreRecyclerView";
     private static final int WRAP_CONTENT = -1;
-    private int mVisibleItemCount, mTotalItemCount, mFirstVisibleItemPosition;
-    private LinearLayoutManager mLayoutManager;
-    private RecycleListAdapter mAdapter;
+    /**
+     * the load more trigger position needs to be computed again
+     */
+    private static final int TRIGGER_INVALID = -1;
+    private LayoutManager mLayoutManager;
+    /**
+     * reused by the staggered grid visible position lookups
+     */
+    private int[] mSpanPositions;
+    private RecycleListAdapter<?> mAdapter;
     private int mTotalDataCount;
-    private boolean mLoadingLock;
+    private final RecycleLoadMoreController.OnStateChangedListener mLoadStateListener =
+            new RecycleLoadMoreController.OnStateChangedListener() {
+                @Override
+                public void onStateChanged(RecycleLoadMoreController controller) {
+                    if (mLoadingFooterShown) {
+                        mAdapter.updateFooter(controller, null);
+                    }
+                }
+            };
+    /**
+     * page keys, in flight dedup and retries of load more, it is also the load state footer
+     */
+    private final RecycleLoadMoreController mLoadMoreController =
+            new RecycleLoadMoreController(this, mLoadStateListener);
+    private boolean mLoadMoreEnabled;
+    /**
+     * seconds of fling travel looked ahead when the prefetch distance is adapted to the fling velocity
+     */
+    private static final float FLING_LOOKAHEAD_SECONDS = 0.5f;
+    /**
+     * load more once the last visible item is this many items or screens away from the end
+     */
+    private int mPrefetchItems;
+    private float mPrefetchScreens;
+    /**
+     * velocity of the current fling along the scroll axis, positive towards the end of the list, 0 while not flinging
+     */
+    private int mFlingVelocity;
+    /**
+     * load more once the last visible position reaches this position, computed again only when the item count,
+     * the scroll state or the fling velocity changes, so a scroll frame is just a compare
+     */
+    private int mLoadMoreTrigger = TRIGGER_INVALID;
+    /**
+     * load previous once the first visible position reaches this position, kept like the load more trigger
+     */
+    private int mLoadPreviousTrigger = TRIGGER_INVALID;
+    /**
+     * loading indicator shown as header, resolved once so scroll frames do not look up resources
+     */
+    private String mLoadingIndicator;
+    private boolean mLoadingFooterShown;
+    private boolean mLoadingHeaderShown;
+    private RecycleLoadPreviousListener mLoadPreviousListener;
+    private boolean mLoadingPreviousLock;
+    /**
+     * position of the first adapter data item in the whole list, greater than 0 while there are earlier pages
+     */
+    private int mDataOffset;
+    /**
+     * max number of data items kept in the adapter, pages far from the viewport are dropped beyond it
+     */
+    private int mMaxDataCount;
+    private RecyclerView.OnScrollListener mLoadMoreScrollListener;
+    private RecycleDividerDecoration mDividerDecoration;
+    /**
+     * key of the shared recycled pool, held from attach to detach
+     */
+    private String mSharedPoolKey;
+    private boolean mSharedPoolAcquired;
+    private boolean mAttached;
+    private RecycleBindPrefetcher mBindPrefetcher;
+    private final AdapterDataObserver mLoadMoreDataObserver = new AdapterDataObserver() {
+        @Override
+        public void onChanged() {
+            onItemCountChanged();
+        }
+
+        @Override
+        public void onItemRangeInserted(int positionStart, int itemCount) {
+            onItemCountChanged();
+        }
+
+        @Override
+        public void onItemRangeRemoved(int positionStart, int itemCount) {
+            onItemCountChanged();
+        }
+    };
+    private final RecycleListAdapter.OnDataResetListener mDataResetListener =
+            new RecycleListAdapter.OnDataResetListener() {
+                @Override
+                public void onDataReset() {
+                    mLoadMoreController.cancel();
+                    resetLoadPrevious();
+                }
+            };
     public AutoLoadMoreRecyclerView(Context context) {
         super(context);
     }
@@ -32,19 +127,283 @@ public class AutoLoadMoreRecyclerView extends RecyclerView {
         super(context, attrs, defStyle);
     }
 
-    public void setAdapter(RecycleListAdapter adapter) {
+    /**
+     * @param adapter adapter, the load more and load previous state of the old adapter is dropped
+     */
+    public void setAdapter(RecycleListAdapter<?> adapter) {
+        if (null != this.mAdapter) {
+            resetLoadPrevious();
+            this.mAdapter.unregisterAdapterDataObserver(mLoadMoreDataObserver);
+            this.mAdapter.setOnDataResetListener(null);
+        }
+        mLoadMoreController.cancel();
         this.mAdapter = adapter;
         super.setAdapter(this.mAdapter);
+        if (null != mBindPrefetcher) {
+            mBindPrefetcher.setAdapter(adapter);
+        }
+        if (null != this.mAdapter) {
+            this.mAdapter.registerAdapterDataObserver(mLoadMoreDataObserver);
+            this.mAdapter.setOnDataResetListener(mDataResetListener);
+        }
+        onItemCountChanged();
     }
 
     public void setTotalDataCount(int totalDataCount){
         this.mTotalDataCount=totalDataCount;
     }
 
+    /**
+     * @return total data count, the size of the paged list when the adapter displays one
+     */
+    public int getTotalDataCount() {
+        if (null != mAdapter && null != mAdapter.getPagedList()) {
+            return mAdapter.getPagedList().size();
+        }
+        return mTotalDataCount;
+    }
+
+    /**
+     * set the position of the first adapter item in the whole list, when the list is opened in the middle.
+     * setting the data or the adapter resets it to 0, set it after them
+     *
+     * @param dataOffset position of the first adapter data item
+     */
+    public void setDataOffset(int dataOffset) {
+        this.mDataOffset = dataOffset < 0 ? 0 : dataOffset;
+    }
+
+    /**
+     * @return position of the first adapter data item in the whole list, use it to request the previous page
+     */
+    public int getDataOffset() {
+        return mDataOffset;
+    }
+
+    /**
+     * cap the number of data items kept in the adapter, when a page completes,
+     * items far from the viewport on the other edge are dropped and loaded again when scrolled back
+     *
+     * @param maxDataCount max data count, 0 to keep everything
+     */
+    public void setMaxDataCount(int maxDataCount) {
+        this.mMaxDataCount = maxDataCount < 0 ? 0 : maxDataCount;
+    }
+
+    /**
+     * share the recycled pool with the other lists using the same key, see {@link RecyclePoolRegistry}
+     *
+     * @param sharedPoolKey pool key, null to use a private pool
+     */
+    public void setSharedPoolKey(String sharedPoolKey) {
+        releaseSharedPool();
+        mSharedPoolKey = sharedPoolKey;
+        if (null == sharedPoolKey) {
+            setRecycledViewPool(null);
+            onRecycledViewPoolChanged();
+        } else if (mAttached) {
+            acquireSharedPool();
+        }
+    }
+
+    @Override
+    protected void onAttachedToWindow() {
+        super.onAttachedToWindow();
+        mAttached = true;
+        acquireSharedPool();
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
+        mAttached = false;
+        releaseSharedPool();
+        if (null != mBindPrefetcher) {
+            mBindPrefetcher.clear();
+        }
+    }
+
+    /**
+     * bind the rows about to scroll into view after each frame, see {@link RecycleBindPrefetcher}
+     *
+     * @param bindPrefetchEnabled true to enable
+     */
+    public void setBindPrefetchEnabled(boolean bindPrefetchEnabled) {
+        if (bindPrefetchEnabled == (null != mBindPrefetcher)) {
+            return;
+        }
+        if (bindPrefetchEnabled) {
+            mBindPrefetcher = new RecycleBindPrefetcher(this);
+            mBindPrefetcher.attach();
+        } else {
+            mBindPrefetcher.detach();
+            mBindPrefetcher = null;
+        }
+    }
+
+    /**
+     * @return bind prefetcher with its hit and miss counters, null when not enabled
+     */
+    public RecycleBindPrefetcher getBindPrefetcher() {
+        return mBindPrefetcher;
+    }
+
+    private void acquireSharedPool() {
+        if (null == mSharedPoolKey || mSharedPoolAcquired) {
+            return;
+        }
+        setRecycledViewPool(RecyclePoolRegistry.getInstance(getContext()).acquire(mSharedPoolKey));
+        mSharedPoolAcquired = true;
+        onRecycledViewPoolChanged();
+    }
+
+    private void releaseSharedPool() {
+        if (mSharedPoolAcquired) {
+            RecyclePoolRegistry.getInstance(getContext()).release(mSharedPoolKey);
+            mSharedPoolAcquired = false;
+        }
+    }
+
+    private void onRecycledViewPoolChanged() {
+        if (null != mAdapter) {
+            mAdapter.applyMaxRecycledViews(getRecycledViewPool());
+        }
+    }
+
     @Override
     public void setLayoutManager(LayoutManager layout) {
-        this.mLayoutManager = (LinearLayoutManager) layout;
+        this.mLayoutManager = layout;
         super.setLayoutManager(this.mLayoutManager);
+        invalidateLoadTriggers();
+        if (null != mAdapter) {
+            mAdapter.applyFullSpanLookup(layout);
+        }
+    }
+
+    /**
+     * @return first visible adapter position of any layout manager, NO_POSITION if nothing is laid out
+     */
+    private int findFirstVisiblePosition() {
+        if (mLayoutManager instanceof LinearLayoutManager) {
+            return ((LinearLayoutManager) mLayoutManager).findFirstVisibleItemPosition();
+        }
+        if (mLayoutManager instanceof StaggeredGridLayoutManager) {
+            int[] positions = obtainSpanPositions((StaggeredGridLayoutManager) mLayoutManager);
+            ((StaggeredGridLayoutManager) mLayoutManager).findFirstVisibleItemPositions(positions);
+            int first = NO_POSITION;
+            for (int position : positions) {
+                if (position != NO_POSITION && (first == NO_POSITION || position < first)) {
+                    first = position;
+                }
+            }
+            return first;
+        }
+        return getChildCount() == 0 ? NO_POSITION : getChildLayoutPosition(getChildAt(0));
+    }
+
+    /**
+     * @return last visible adapter position of any layout manager, NO_POSITION if nothing is laid out
+     */
+    private int findLastVisiblePosition() {
+        if (mLayoutManager instanceof LinearLayoutManager) {
+            return ((LinearLayoutManager) mLayoutManager).findLastVisibleItemPosition();
+        }
+        if (mLayoutManager instanceof StaggeredGridLayoutManager) {
+            int[] positions = obtainSpanPositions((StaggeredGridLayoutManager) mLayoutManager);
+            ((StaggeredGridLayoutManager) mLayoutManager).findLastVisibleItemPositions(positions);
+            int last = NO_POSITION;
+            for (int position : positions) {
+                last = Math.max(last, position);
+            }
+            return last;
+        }
+        return getChildCount() == 0 ? NO_POSITION : getChildLayoutPosition(getChildAt(getChildCount() - 1));
+    }
+
+    private int[] obtainSpanPositions(StaggeredGridLayoutManager layoutManager) {
+        if (null == mSpanPositions || mSpanPositions.length != layoutManager.getSpanCount()) {
+            mSpanPositions = new int[layoutManager.getSpanCount()];
+        }
+        return mSpanPositions;
+    }
+
+    private boolean isVerticalLayout() {
+        if (mLayoutManager instanceof LinearLayoutManager) {
+            return ((LinearLayoutManager) mLayoutManager).getOrientation() == LinearLayoutManager.VERTICAL;
+        }
+        if (mLayoutManager instanceof StaggeredGridLayoutManager) {
+            return ((StaggeredGridLayoutManager) mLayoutManager).getOrientation() == StaggeredGridLayoutManager.VERTICAL;
+        }
+        return null == mLayoutManager || mLayoutManager.canScrollVertically();
+    }
+
+    private void scrollToPositionWithOffset(int position, int offset) {
+        if (mLayoutManager instanceof LinearLayoutManager) {
+            ((LinearLayoutManager) mLayoutManager).scrollToPositionWithOffset(position, offset);
+        } else if (mLayoutManager instanceof StaggeredGridLayoutManager) {
+            ((StaggeredGridLayoutManager) mLayoutManager).scrollToPositionWithOffset(position, offset);
+        } else {
+            scrollToPosition(position);
+        }
+    }
+
+    /**
+     * load the next page before the end is reached
+     *
+     * @param prefetchItems number of items left below the last visible item when the next page is requested,
+     *                      and above the first visible one when the previous page is requested
+     */
+    public void setLoadMorePrefetchItems(int prefetchItems) {
+        mPrefetchItems = prefetchItems < 0 ? 0 : prefetchItems;
+        invalidateLoadTriggers();
+    }
+
+    /**
+     * load the next page before the end is reached
+     *
+     * @param prefetchScreens number of screens left below the last visible item when the next page is requested,
+     *                        and above the first visible one when the previous page is requested
+     */
+    public void setLoadMorePrefetchScreens(float prefetchScreens) {
+        mPrefetchScreens = prefetchScreens < 0 ? 0 : prefetchScreens;
+        invalidateLoadTriggers();
+    }
+
+    @Override
+    public boolean fling(int velocityX, int velocityY) {
+        boolean fling = super.fling(velocityX, velocityY);
+        if (fling && null != mLayoutManager) {
+            int velocity = isVerticalLayout() ? velocityY : velocityX;
+            mFlingVelocity = velocity;
+            invalidateLoadTriggers();
+            if (null != mAdapter) {
+                mAdapter.onFling(velocity);
+            }
+        }
+        return fling;
+    }
+
+    /**
+     * @param visibleItemCount visible item count
+     * @param velocity         fling velocity towards the edge the distance is measured from
+     * @return number of items before the edge at which the next page is requested
+     */
+    private int getPrefetchDistance(int visibleItemCount, int velocity) {
+        int distance = Math.max(mPrefetchItems, (int) (mPrefetchScreens * visibleItemCount));
+        if (velocity > 0 && visibleItemCount > 0) {
+            int extent = isVerticalLayout() ? getHeight() : getWidth();
+            if (extent > 0) {
+                //items the fling passes while the next page loads, based on the average visible item size
+                float itemSize = (float) extent / visibleItemCount;
+                distance += (int) (velocity * FLING_LOOKAHEAD_SECONDS / itemSize);
+            }
+        }
+        return distance;
+    }
+
+    private void invalidateLoadTriggers() {
+        mLoadMoreTrigger = TRIGGER_INVALID;
+        mLoadPreviousTrigger = TRIGGER_INVALID;
     }
 
     /**
@@ -73,40 +432,33 @@ public class AutoLoadMoreRecyclerView extends RecyclerView {
      * @param drawable      drawable
      * @param dividerHeight divider height
      */
-    public void setDivider(final Drawable drawable, final int dividerHeight) {
-        if (null == drawable) {
-            throw new NullPointerException("drawable resource is null");
-        }
-        addItemDecoration(new RecyclerView.ItemDecoration() {
-            @Override
-            public void onDrawOver(Canvas c, RecyclerView parent, RecyclerView.State state) {
-                int left = parent.getPaddingLeft();
-                int right = parent.getWidth() - parent.getPaddingRight();
-
-                int childCount = parent.getChildCount();
-                for (int i = 0; i < childCount; i++) {
-                    View child = parent.getChildAt(i);
-
-                    RecyclerView.LayoutParams params = (RecyclerView.LayoutParams) child.getLayoutParams();
-
-                    int top = child.getBottom() + params.bottomMargin;
-                    int bottom;
-                    if (dividerHeight == WRAP_CONTENT) {
-                        bottom = top + drawable.getIntrinsicHeight();
-                    } else {
-                        if (dividerHeight < 0) {
-                            bottom = top;
-                        } else {
-                            bottom = top + dividerHeight;
-                        }
+    public void setDivider(Drawable drawable, int dividerHeight) {
+        setDivider(new RecycleDividerDecoration(drawable, dividerHeight));
+    }
 
-                    }
+    /**
+     * set a solid colour list divider, drawn as one batch per frame
+     *
+     * @param color         divider color
+     * @param dividerHeight divider height
+     */
+    public void setDividerColor(int color, int dividerHeight) {
+        setDivider(new RecycleDividerDecoration(color, dividerHeight));
+    }
 
-                    drawable.setBounds(left, top, right, bottom);
-                    drawable.draw(c);
-                }
-            }
-        });
+    /**
+     * set list divider, it replaces the divider set before
+     *
+     * @param divider divider decoration, null to remove the divider
+     */
+    public void setDivider(RecycleDividerDecoration divider) {
+        if (null != mDividerDecoration) {
+            removeItemDecoration(mDividerDecoration);
+        }
+        mDividerDecoration = divider;
+        if (null != divider) {
+            addItemDecoration(divider);
+        }
     }
 
     /**
@@ -119,48 +471,314 @@ public class AutoLoadMoreRecyclerView extends RecyclerView {
     }
 
     /**
-     * enable list view auto load more
+     * enable list view auto load more, calling it again only replaces the listener
      *
      * @param loadMoreListener load more listener
      */
     public void enableAutoLoadMore(final RecycleLoadMoreListener loadMoreListener) {
-        addOnScrollListener(new RecyclerView.OnScrollListener() {
+        enableAutoLoadMore(null == loadMoreListener ? null : new RecycleLoadMoreController.PageListener() {
+            @Override
+            public void onLoadPage(int pageKey) {
+                loadMoreListener.loadMore();
+            }
+
+            @Override
+            public void onCancelPage(int pageKey) {
+            }
+        });
+    }
+
+    /**
+     * enable list view auto load more by page key, calling it again only replaces the listener
+     *
+     * @param pageListener page listener
+     */
+    public void enableAutoLoadMore(RecycleLoadMoreController.PageListener pageListener) {
+        mLoadMoreEnabled = null != pageListener;
+        mLoadMoreController.setPageListener(pageListener);
+        installLoadMoreScrollListener();
+    }
+
+    /**
+     * @return load more controller, to configure the retry backoff and the load state footer
+     */
+    public RecycleLoadMoreController getLoadMoreController() {
+        return mLoadMoreController;
+    }
+
+    /**
+     * enable loading earlier pages when the list is scrolled to the top, see {@link #setDataOffset(int)}
+     *
+     * @param loadPreviousListener load previous listener
+     */
+    public void enableAutoLoadPrevious(RecycleLoadPreviousListener loadPreviousListener) {
+        mLoadPreviousListener = loadPreviousListener;
+        installLoadMoreScrollListener();
+    }
+
+    private void installLoadMoreScrollListener() {
+        mLoadingIndicator = getResources().getString(R.string.loading);
+        onItemCountChanged();
+        if (null != mLoadMoreScrollListener) {
+            return;
+        }
+        mLoadMoreScrollListener = new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrollStateChanged(RecyclerView recyclerView, int newState) {
+                super.onScrollStateChanged(recyclerView, newState);
+                if (newState != SCROLL_STATE_SETTLING && mFlingVelocity != 0) {
+                    mFlingVelocity = 0;
+                    invalidateLoadTriggers();
+                }
+            }
+
             @Override
             public void onScrolled(RecyclerView recyclerView, int dx, int dy) {
                 super.onScrolled(recyclerView, dx, dy);
-                if (null == mLayoutManager || null == mAdapter || mLoadingLock) {
+                if (null == mLayoutManager || null == mAdapter || null != mAdapter.getPagedList()) {
+                    //a paged list loads its own pages
                     return;
                 }
-                mVisibleItemCount = mLayoutManager.getChildCount();
-                mTotalItemCount = mLayoutManager.getItemCount();
-                mFirstVisibleItemPosition = mLayoutManager.findFirstVisibleItemPosition();
-                if ((mVisibleItemCount + mFirstVisibleItemPosition) >= mTotalItemCount) {
-                    if (mAdapter.getData().size() < mTotalDataCount && mAdapter.getData().size() > 0) {
-                        // has more
-                        mLoadingLock = true;
-                        if (!mAdapter.getFooters().contains(getResources().getString(R.string.loading))) {
-                            mAdapter.addFooter(getResources().getString(R.string.loading));
-                        }
-                        if (null != loadMoreListener) {
-                            loadMoreListener.loadMore();
-                        }
-                    } else {
-                        // no more
-                        if (mAdapter.getFooters().contains(getResources().getString(R.string.loading))) {
-                            mAdapter.removeFooter(getResources().getString(R.string.loading));
-                        }
+                if (mLoadMoreEnabled && mLoadMoreController.getState() == RecycleLoadMoreController.STATE_IDLE) {
+                    if (mLoadMoreTrigger == TRIGGER_INVALID) {
+                        updateLoadMoreTrigger();
+                    }
+                    if (findLastVisiblePosition() >= mLoadMoreTrigger) {
+                        checkLoadMore();
+                    }
+                }
+                if (null != mLoadPreviousListener && !mLoadingPreviousLock) {
+                    if (mLoadPreviousTrigger == TRIGGER_INVALID) {
+                        updateLoadPreviousTrigger();
+                    }
+                    int firstPosition = findFirstVisiblePosition();
+                    if (firstPosition != NO_POSITION && firstPosition <= mLoadPreviousTrigger) {
+                        checkLoadPrevious();
                     }
-
                 }
             }
-        });
+        };
+        addOnScrollListener(mLoadMoreScrollListener);
+    }
+
+    private void updateLoadMoreTrigger() {
+        int visibleItemCount = mLayoutManager.getChildCount();
+        mLoadMoreTrigger = Math.max(0,
+                mLayoutManager.getItemCount() - 1 - getPrefetchDistance(visibleItemCount, mFlingVelocity));
+    }
+
+    /**
+     * measured from the first data row, the headers and the loading indicator do not count
+     */
+    private void updateLoadPreviousTrigger() {
+        int visibleItemCount = mLayoutManager.getChildCount();
+        mLoadPreviousTrigger = mAdapter.getHeaderCount() + getPrefetchDistance(visibleItemCount, -mFlingVelocity);
+    }
+
+    private void checkLoadMore() {
+        int dataCount = mAdapter.getDataCount();
+        if (mDataOffset + dataCount < mTotalDataCount && dataCount > 0) {
+            // has more
+            if (!mLoadingFooterShown) {
+                mAdapter.addFooter(mLoadMoreController, mLoadMoreController.getFooterFactory());
+                //not left to the data observer, a batch holds its notifications back
+                mLoadingFooterShown = mAdapter.getFooters().contains(mLoadMoreController);
+            }
+            mLoadMoreController.request(mDataOffset + dataCount);
+        } else if (mLoadingFooterShown) {
+            // no more
+            mAdapter.removeFooter(mLoadMoreController);
+            mLoadingFooterShown = false;
+        }
     }
 
+    private void checkLoadPrevious() {
+        if (mDataOffset > 0 && mAdapter.getDataCount() > 0) {
+            // has previous
+            mLoadingPreviousLock = true;
+            if (!mLoadingHeaderShown) {
+                //in front of the app's headers, next to the rows it loads
+                mAdapter.addHeader(0, mLoadingIndicator);
+                mLoadingHeaderShown = mAdapter.getHeaders().contains(mLoadingIndicator);
+            }
+            mLoadPreviousListener.loadPrevious();
+        } else if (mLoadingHeaderShown) {
+            // no previous
+            mAdapter.removeHeader(mLoadingIndicator);
+            mLoadingHeaderShown = false;
+        }
+    }
+
+    /**
+     * the adapter changed, compute the trigger again and check whether the loading indicators are still there,
+     * in case the app took them down itself
+     */
+    private void onItemCountChanged() {
+        invalidateLoadTriggers();
+        boolean attached = null != mAdapter && null != mLoadingIndicator;
+        mLoadingFooterShown = null != mAdapter && mAdapter.getFooters().contains(mLoadMoreController);
+        mLoadingHeaderShown = attached && mAdapter.getHeaders().contains(mLoadingIndicator);
+    }
+
+    /**
+     * report the page in flight as loaded, call it after adding the page to the adapter,
+     * data beyond the max data count is trimmed then
+     */
     public void loadMoreComplete(){
-        mLoadingLock=false;
+        mLoadMoreController.complete(RecycleLoadMoreController.NO_PAGE);
+        trimLeadingData();
+    }
+
+    /**
+     * report a loaded page, call it after adding the page to the adapter, data beyond the max data count is
+     * trimmed then. a page told to {@link RecycleLoadMoreController.PageListener#onCancelPage(int)} is not added
+     *
+     * @param pageKey page key given to {@link RecycleLoadMoreController.PageListener#onLoadPage(int)}
+     * @return false if the page was cancelled or reported already
+     */
+    public boolean loadMoreComplete(int pageKey) {
+        if (!mLoadMoreController.complete(pageKey)) {
+            return false;
+        }
+        trimLeadingData();
+        return true;
+    }
+
+    /**
+     * report a failed page, the footer turns into a retry button and the page is retried after a backoff
+     */
+    public void loadMoreFailed() {
+        mLoadMoreController.fail(RecycleLoadMoreController.NO_PAGE);
+    }
+
+    /**
+     * report a failed page, the footer turns into a retry button and the page is retried after a backoff
+     *
+     * @param pageKey page key given to {@link RecycleLoadMoreController.PageListener#onLoadPage(int)}
+     */
+    public void loadMoreFailed(int pageKey) {
+        mLoadMoreController.fail(pageKey);
+    }
+
+    /**
+     * insert the previous page in front of the data, keeping the visible rows in place
+     *
+     * @param data previous page, items of the adapter's type
+     * @return false if the data or the adapter was reset since the page was requested, the page is dropped
+     */
+    public boolean loadPreviousComplete(List<?> data) {
+        if (!mLoadingPreviousLock) {
+            return false;
+        }
+        mLoadingPreviousLock = false;
+        if (null == mAdapter || null == mLayoutManager) {
+            return false;
+        }
+        int dataCount = null == data ? 0 : data.size();
+        mDataOffset = Math.max(0, mDataOffset - dataCount);
+        int anchorPosition = findFirstVisiblePosition();
+        int anchorOffset = getAnchorOffset(anchorPosition);
+        int itemCount = mAdapter.getItemCount();
+        if (mLoadingHeaderShown) {
+            mAdapter.removeHeader(mLoadingIndicator);
+            mLoadingHeaderShown = false;
+        }
+        prependData(mAdapter, data);
+        if (anchorPosition != NO_POSITION) {
+            scrollToPositionWithOffset(
+                    Math.max(0, anchorPosition + mAdapter.getItemCount() - itemCount), anchorOffset);
+        }
+        trimTrailingData();
+        return true;
+    }
+
+    /**
+     * forget the previous page in flight and the data offset, and take the loading header down
+     */
+    private void resetLoadPrevious() {
+        mLoadingPreviousLock = false;
+        mDataOffset = 0;
+        if (null != mAdapter && null != mLoadingIndicator && mAdapter.getHeaders().contains(mLoadingIndicator)) {
+            mAdapter.removeHeader(mLoadingIndicator);
+        }
+        mLoadingHeaderShown = false;
+    }
+
+    /**
+     * the page comes from the load previous listener of this list, its items are of the adapter's type
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> void prependData(RecycleListAdapter<T> adapter, List<?> data) {
+        adapter.prependData((List<T>) data);
+    }
+
+    /**
+     * @return offset of the anchor row from the start edge along the scroll axis
+     */
+    private int getAnchorOffset(int anchorPosition) {
+        View anchor = anchorPosition == NO_POSITION ? null : mLayoutManager.findViewByPosition(anchorPosition);
+        if (null == anchor) {
+            return 0;
+        }
+        return isVerticalLayout() ? anchor.getTop() - getPaddingTop() : anchor.getLeft() - getPaddingLeft();
+    }
+
+    /**
+     * drop data above the viewport beyond the max data count, they are loaded again as previous pages
+     */
+    private void trimLeadingData() {
+        if (mMaxDataCount <= 0 || null == mAdapter || null == mLayoutManager) {
+            return;
+        }
+        int anchorPosition = findFirstVisiblePosition();
+        if (anchorPosition == NO_POSITION) {
+            return;
+        }
+        int excess = mAdapter.getDataCount() - mMaxDataCount;
+        //keep the rows the load previous trigger looks at
+        int count = Math.min(excess, anchorPosition - mAdapter.getHeaderCount()
+                - getPrefetchDistance(mLayoutManager.getChildCount(), -mFlingVelocity) - 1);
+        if (count <= 0) {
+            return;
+        }
+        int anchorOffset = getAnchorOffset(anchorPosition);
+        mAdapter.removeData(0, count);
+        mDataOffset += count;
+        scrollToPositionWithOffset(anchorPosition - count, anchorOffset);
+    }
+
+    /**
+     * drop data below the viewport beyond the max data count, they are loaded again by load more
+     */
+    private void trimTrailingData() {
+        if (mMaxDataCount <= 0 || null == mAdapter || null == mLayoutManager) {
+            return;
+        }
+        int lastPosition = findLastVisiblePosition();
+        if (lastPosition == NO_POSITION) {
+            return;
+        }
+        int dataCount = mAdapter.getDataCount();
+        int excess = dataCount - mMaxDataCount;
+        int lastDataPosition = lastPosition - mAdapter.getHeaderCount();
+        int count = Math.min(excess, dataCount - 1 - lastDataPosition - getPrefetchDistance(mLayoutManager.getChildCount(), mFlingVelocity) - 1);
+        if (count <= 0) {
+            return;
+        }
+        mAdapter.removeData(dataCount - count, count);
     }
 
     public interface RecycleLoadMoreListener {
+        /**
+         * load the next page, add it to the adapter, then call {@link #loadMoreComplete()}
+         */
         void loadMore();
     }
+
+    public interface RecycleLoadPreviousListener {
+        /**
+         * load the page before {@link #getDataOffset()}, then call {@link #loadPreviousComplete(List)}
+         */
+        void loadPrevious();
+    }
 }
@@ -1,19 +1,71 @@
 package recycleview;
 
 import android.content.Context;
+import android.graphics.Rect;
 import android.support.v7.widget.LinearLayoutManager;
 import android.support.v7.widget.RecyclerView;
+import android.util.SparseIntArray;
 import android.view.View;
 import android.view.ViewGroup;
 
 public class ExpandLinearLayoutManager extends LinearLayoutManager {
 
     private int[] mMeasuredDimension = new int[2];
+    private final Rect mDecorInsets = new Rect();
+
+    /**
+     * measured sizes are reused until the adapter reports a change for their position
+     */
+    private boolean mMeasureCacheEnabled;
+    /**
+     * all items of a view type have the same size, so one measure per view type is enough
+     */
+    private boolean mMeasureCacheByViewType;
+    /**
+     * only the first items are measured, the list gets a bounded size and recycles its rows past it
+     */
+    private int mMaxMeasuredItems;
+    private final MeasureCache mMeasureCache = new MeasureCache();
+    private final SparseIntArray mViewTypeWidths = new SparseIntArray();
+    private final SparseIntArray mViewTypeHeights = new SparseIntArray();
+    private int mCachedWidthSpec;
+    private int mCachedHeightSpec;
+    private RecyclerView mRecyclerView;
 
     public ExpandLinearLayoutManager(Context context, int orientation, boolean reverseLayout) {
         super(context, orientation, reverseLayout);
     }
 
+    /**
+     * cache measured item sizes by position, an item is measured again only after the adapter notified a change for it
+     *
+     * @param measureCacheEnabled true to enable the cache
+     */
+    public void setMeasureCacheEnabled(boolean measureCacheEnabled) {
+        mMeasureCacheEnabled = measureCacheEnabled;
+        clearMeasureCache();
+    }
+
+    /**
+     * cache measured item sizes by view type instead of by position, use it when every item of a view type has the same size
+     *
+     * @param measureCacheByViewType true to measure one item per view type
+     */
+    public void setMeasureCacheByViewType(boolean measureCacheByViewType) {
+        mMeasureCacheByViewType = measureCacheByViewType;
+        clearMeasureCache();
+    }
+
+    /**
+     * stop expanding past a number of items, the list is sized to the first items and recycles the rest while scrolling
+     *
+     * @param maxMeasuredItems max number of measured items, 0 to measure every item
+     */
+    public void setMaxMeasuredItems(int maxMeasuredItems) {
+        mMaxMeasuredItems = maxMeasuredItems < 0 ? 0 : maxMeasuredItems;
+        requestLayout();
+    }
+
     @Override
     public void onMeasure(RecyclerView.Recycler recycler, RecyclerView.State state,
                           int widthSpec, int heightSpec) {
@@ -21,41 +73,85 @@ public class ExpandLinearLayoutManager extends LinearLayoutManager {
         final int heightMode = View.MeasureSpec.getMode(heightSpec);
         final int widthSize = View.MeasureSpec.getSize(widthSpec);
         final int heightSize = View.MeasureSpec.getSize(heightSpec);
+        final boolean horizontal = getOrientation() == HORIZONTAL;
+        //children are measured against the real cross axis, the main axis is left unbounded
+        final int childWidthSpec = horizontal
+                ? View.MeasureSpec.makeMeasureSpec(0, View.MeasureSpec.UNSPECIFIED) : widthSpec;
+        final int childHeightSpec = horizontal
+                ? heightSpec : View.MeasureSpec.makeMeasureSpec(0, View.MeasureSpec.UNSPECIFIED);
+        if (childWidthSpec != mCachedWidthSpec || childHeightSpec != mCachedHeightSpec) {
+            //children may measure differently against other specs
+            clearMeasureCache();
+            mCachedWidthSpec = childWidthSpec;
+            mCachedHeightSpec = childHeightSpec;
+        }
+        //no need to measure past an at most bound, the list is clamped to it anyway
+        final int mainMode = horizontal ? widthMode : heightMode;
+        final int mainBound = horizontal ? widthSize : heightSize;
+        int itemCount = getItemCount();
+        int measuredCount = mMaxMeasuredItems > 0 ? Math.min(itemCount, mMaxMeasuredItems) : itemCount;
+        mMeasureCache.ensureSize(itemCount);
         int width = 0;
         int height = 0;
-        for (int i = 0; i < getItemCount(); i++) {
-            measureScrapChild(recycler, i,
-                    View.MeasureSpec.makeMeasureSpec(i, View.MeasureSpec.UNSPECIFIED),
-                    View.MeasureSpec.makeMeasureSpec(i, View.MeasureSpec.UNSPECIFIED),
-                    mMeasuredDimension);
+        for (int i = 0; i < measuredCount; i++) {
+            measureItem(recycler, i, childWidthSpec, childHeightSpec, mMeasuredDimension);
 
-            if (getOrientation() == HORIZONTAL) {
+            if (horizontal) {
                 width = width + mMeasuredDimension[0];
-                if (i == 0) {
-                    height = mMeasuredDimension[1];
+                height = Math.max(height, mMeasuredDimension[1]);
+                if (mainMode == View.MeasureSpec.AT_MOST && width >= mainBound) {
+                    break;
                 }
             } else {
                 height = height + mMeasuredDimension[1];
-                if (i == 0) {
-                    width = mMeasuredDimension[0];
+                width = Math.max(width, mMeasuredDimension[0]);
+                if (mainMode == View.MeasureSpec.AT_MOST && height >= mainBound) {
+                    break;
                 }
             }
         }
-        switch (widthMode) {
-            case View.MeasureSpec.EXACTLY:
-                width = widthSize;
-            case View.MeasureSpec.AT_MOST:
-            case View.MeasureSpec.UNSPECIFIED:
-        }
+        setMeasuredDimension(resolveSize(width, widthMode, widthSize),
+                resolveSize(height, heightMode, heightSize));
+    }
 
-        switch (heightMode) {
+    private static int resolveSize(int size, int mode, int specSize) {
+        switch (mode) {
             case View.MeasureSpec.EXACTLY:
-                height = heightSize;
+                return specSize;
             case View.MeasureSpec.AT_MOST:
+                return Math.min(size, specSize);
             case View.MeasureSpec.UNSPECIFIED:
+            default:
+                return size;
         }
+    }
 
-        setMeasuredDimension(width, height);
+    /**
+     * measure an item, or take its size from the cache
+     */
+    private void measureItem(RecyclerView.Recycler recycler, int position, int widthSpec, int heightSpec,
+                             int[] measuredDimension) {
+        if (!mMeasureCacheEnabled) {
+            measureScrapChild(recycler, position, widthSpec, heightSpec, measuredDimension);
+            return;
+        }
+        if (mMeasureCacheByViewType && null != mRecyclerView && null != mRecyclerView.getAdapter()) {
+            int viewType = mRecyclerView.getAdapter().getItemViewType(position);
+            if (mViewTypeHeights.indexOfKey(viewType) >= 0) {
+                measuredDimension[0] = mViewTypeWidths.get(viewType);
+                measuredDimension[1] = mViewTypeHeights.get(viewType);
+                return;
+            }
+            measureScrapChild(recycler, position, widthSpec, heightSpec, measuredDimension);
+            mViewTypeWidths.put(viewType, measuredDimension[0]);
+            mViewTypeHeights.put(viewType, measuredDimension[1]);
+            return;
+        }
+        if (mMeasureCache.get(position, measuredDimension)) {
+            return;
+        }
+        measureScrapChild(recycler, position, widthSpec, heightSpec, measuredDimension);
+        mMeasureCache.put(position, measuredDimension[0], measuredDimension[1]);
     }
 
     private void measureScrapChild(RecyclerView.Recycler recycler, int position, int widthSpec,
@@ -63,14 +159,155 @@ public class ExpandLinearLayoutManager extends LinearLayoutManager {
         View view = recycler.getViewForPosition(position);
         if (view != null) {
             RecyclerView.LayoutParams p = (RecyclerView.LayoutParams) view.getLayoutParams();
+            //item decorations take their offsets around the row, like dividers
+            calculateItemDecorationsForChild(view, mDecorInsets);
+            int decorWidth = mDecorInsets.left + mDecorInsets.right;
+            int decorHeight = mDecorInsets.top + mDecorInsets.bottom;
             int childWidthSpec = ViewGroup.getChildMeasureSpec(widthSpec,
-                    getPaddingLeft() + getPaddingRight(), p.width);
+                    getPaddingLeft() + getPaddingRight() + p.leftMargin + p.rightMargin + decorWidth, p.width);
             int childHeightSpec = ViewGroup.getChildMeasureSpec(heightSpec,
-                    getPaddingTop() + getPaddingBottom(), p.height);
+                    getPaddingTop() + getPaddingBottom() + p.topMargin + p.bottomMargin + decorHeight, p.height);
             view.measure(childWidthSpec, childHeightSpec);
-            measuredDimension[0] = view.getMeasuredWidth() + p.leftMargin + p.rightMargin;
-            measuredDimension[1] = view.getMeasuredHeight() + p.bottomMargin + p.topMargin;
+            measuredDimension[0] = view.getMeasuredWidth() + p.leftMargin + p.rightMargin + decorWidth;
+            measuredDimension[1] = view.getMeasuredHeight() + p.bottomMargin + p.topMargin + decorHeight;
             recycler.recycleView(view);
         }
     }
-}
\ No newline at end of file
+
+    private void clearMeasureCache() {
+        mMeasureCache.clear();
+        mViewTypeWidths.clear();
+        mViewTypeHeights.clear();
+    }
+
+    @Override
+    public void onAttachedToWindow(RecyclerView view) {
+        super.onAttachedToWindow(view);
+        mRecyclerView = view;
+    }
+
+    @Override
+    public void onDetachedFromWindow(RecyclerView view, RecyclerView.Recycler recycler) {
+        super.onDetachedFromWindow(view, recycler);
+        mRecyclerView = null;
+    }
+
+    @Override
+    public void onAdapterChanged(RecyclerView.Adapter oldAdapter, RecyclerView.Adapter newAdapter) {
+        super.onAdapterChanged(oldAdapter, newAdapter);
+        clearMeasureCache();
+    }
+
+    @Override
+    public void onItemsChanged(RecyclerView recyclerView) {
+        super.onItemsChanged(recyclerView);
+        clearMeasureCache();
+    }
+
+    @Override
+    public void onItemsAdded(RecyclerView recyclerView, int positionStart, int itemCount) {
+        super.onItemsAdded(recyclerView, positionStart, itemCount);
+        mMeasureCache.insert(positionStart, itemCount);
+    }
+
+    @Override
+    public void onItemsRemoved(RecyclerView recyclerView, int positionStart, int itemCount) {
+        super.onItemsRemoved(recyclerView, positionStart, itemCount);
+        mMeasureCache.remove(positionStart, itemCount);
+    }
+
+    @Override
+    public void onItemsUpdated(RecyclerView recyclerView, int positionStart, int itemCount) {
+        super.onItemsUpdated(recyclerView, positionStart, itemCount);
+        mMeasureCache.invalidate(positionStart, itemCount);
+    }
+
+    @Override
+    public void onItemsMoved(RecyclerView recyclerView, int from, int to, int itemCount) {
+        super.onItemsMoved(recyclerView, from, to, itemCount);
+        //every position between the two ends shifts by the moved items
+        int start = Math.min(from, to);
+        mMeasureCache.invalidate(start, Math.max(from, to) + itemCount - start);
+    }
+
+    /**
+     * measured sizes by position, shifted along with adapter inserts and removals
+     */
+    private static final class MeasureCache {
+        private static final int DIRTY = -1;
+        private int[] mWidths = new int[0];
+        private int[] mHeights = new int[0];
+        private int mSize;
+
+        void ensureSize(int size) {
+            if (size > mWidths.length) {
+                int capacity = Math.max(size, mWidths.length * 2);
+                mWidths = grow(mWidths, capacity);
+                mHeights = grow(mHeights, capacity);
+            }
+            if (size > mSize) {
+                markDirty(mSize, size - mSize);
+            }
+            mSize = size;
+        }
+
+        boolean get(int position, int[] measuredDimension) {
+            if (position >= mSize || mHeights[position] == DIRTY) {
+                return false;
+            }
+            measuredDimension[0] = mWidths[position];
+            measuredDimension[1] = mHeights[position];
+            return true;
+        }
+
+        void put(int position, int width, int height) {
+            if (position < mSize) {
+                mWidths[position] = width;
+                mHeights[position] = height;
+            }
+        }
+
+        void insert(int position, int count) {
+            if (position > mSize) {
+                return;
+            }
+            int oldSize = mSize;
+            ensureSize(mSize + count);
+            System.arraycopy(mWidths, position, mWidths, position + count, oldSize - position);
+            System.arraycopy(mHeights, position, mHeights, position + count, oldSize - position);
+            markDirty(position, count);
+        }
+
+        void remove(int position, int count) {
+            if (position >= mSize) {
+                return;
+            }
+            count = Math.min(count, mSize - position);
+            System.arraycopy(mWidths, position + count, mWidths, position, mSize - position - count);
+            System.arraycopy(mHeights, position + count, mHeights, position, mSize - position - count);
+            mSize -= count;
+        }
+
+        void invalidate(int position, int count) {
+            if (position < mSize) {
+                markDirty(position, Math.min(count, mSize - position));
+            }
+        }
+
+        void clear() {
+            markDirty(0, mSize);
+        }
+
+        private void markDirty(int position, int count) {
+            for (int i = position; i < position + count; i++) {
+                mHeights[i] = DIRTY;
+            }
+        }
+
+        private static int[] grow(int[] array, int capacity) {
+            int[] grown = new int[capacity];
+            System.arraycopy(array, 0, grown, 0, array.length);
+            return grown;
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package recycleview;
+
+import android.util.SparseIntArray;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * @author yuanzheng
+ * create and bind counts and latency histograms per view type of a {@link RecycleListAdapter}.
+ * recording runs on the main thread and allocates nothing, the counters are lock free and may be read
+ * from any thread. every create is a recycled pool miss, so the miss rate is creates per bind.
+ * latencies are kept in log2 buckets from 1 microsecond, the last bucket counts binds longer than a frame
+ */
+public class RecycleAdapterMetrics {
+
+    /**
+     * view types beyond it share the last slot, reported with {@link #OTHER_VIEW_TYPES}
+     */
+    public static final int MAX_VIEW_TYPES = 32;
+    public static final int OTHER_VIEW_TYPES = Integer.MIN_VALUE;
+    public static final int HISTOGRAM_BUCKETS = 16;
+    /**
+     * the first bucket holds latencies below 2^10 nanoseconds
+     */
+    private static final int HISTOGRAM_SHIFT = 10;
+
+    private static final int CREATE_COUNT = 0;
+    private static final int CREATE_NANOS = 1;
+    private static final int BIND_COUNT = 2;
+    private static final int BIND_NANOS = 3;
+    private static final int CREATE_HISTOGRAM = 4;
+    private static final int BIND_HISTOGRAM = CREATE_HISTOGRAM + HISTOGRAM_BUCKETS;
+    private static final int SLOT_SIZE = BIND_HISTOGRAM + HISTOGRAM_BUCKETS;
+
+    /**
+     * gets the metrics periodically
+     */
+    public interface Listener {
+        /**
+         * called on a background thread
+         *
+         * @param stats stats of every view type seen so far
+         */
+        void onMetrics(List<TypeStats> stats);
+    }
+
+    private final AtomicLongArray mCounters = new AtomicLongArray(MAX_VIEW_TYPES * SLOT_SIZE);
+    /**
+     * view type of every slot, published before the slot is counted
+     */
+    private final AtomicIntegerArray mSlotViewTypes = new AtomicIntegerArray(MAX_VIEW_TYPES);
+    private volatile int mSlotCount;
+    /**
+     * slot by view type, only touched on the main thread
+     */
+    private final SparseIntArray mSlots = new SparseIntArray(MAX_VIEW_TYPES);
+    private volatile Listener mListener;
+    private long mReportInterval;
+    private long mNextReport;
+
+    private final Runnable mReportRunnable = new Runnable() {
+        @Override
+        public void run() {
+            Listener listener = mListener;
+            if (null != listener) {
+                listener.onMetrics(snapshot());
+            }
+        }
+    };
+
+    RecycleAdapterMetrics() {
+    }
+
+    /**
+     * report the stats periodically, checked whenever a row is bound
+     *
+     * @param listener       listener, null to stop reporting
+     * @param intervalMillis min interval between reports
+     */
+    public void setListener(Listener listener, long intervalMillis) {
+        mReportInterval = Math.max(0, intervalMillis) * 1000 * 1000;
+        mNextReport = System.nanoTime() + mReportInterval;
+        mListener = listener;
+    }
+
+    /**
+     * @return stats of every view type seen so far, in the order they were first seen
+     */
+    public List<TypeStats> snapshot() {
+        int slotCount = mSlotCount;
+        List<TypeStats> stats = new ArrayList<TypeStats>(slotCount);
+        for (int slot = 0; slot < slotCount; slot++) {
+            int base = slot * SLOT_SIZE;
+            long[] createHistogram = new long[HISTOGRAM_BUCKETS];
+            long[] bindHistogram = new long[HISTOGRAM_BUCKETS];
+            for (int i = 0; i < HISTOGRAM_BUCKETS; i++) {
+                createHistogram[i] = mCounters.get(base + CREATE_HISTOGRAM + i);
+                bindHistogram[i] = mCounters.get(base + BIND_HISTOGRAM + i);
+            }
+            stats.add(new TypeStats(mSlotViewTypes.get(slot), mCounters.get(base + CREATE_COUNT),
+                    mCounters.get(base + CREATE_NANOS), mCounters.get(base + BIND_COUNT),
+                    mCounters.get(base + BIND_NANOS), createHistogram, bindHistogram));
+        }
+        return Collections.unmodifiableList(stats);
+    }
+
+    /**
+     * zero the counters, the view types stay in their slots
+     */
+    public void reset() {
+        for (int i = 0, length = mCounters.length(); i < length; i++) {
+            mCounters.set(i, 0);
+        }
+    }
+
+    void recordCreate(int viewType, long nanos) {
+        int base = slotOf(viewType) * SLOT_SIZE;
+        mCounters.incrementAndGet(base + CREATE_COUNT);
+        mCounters.addAndGet(base + CREATE_NANOS, nanos);
+        mCounters.incrementAndGet(base + CREATE_HISTOGRAM + bucketOf(nanos));
+    }
+
+    /**
+     * @param end end of the bind from {@link System#nanoTime()}, the report interval is checked against it
+     */
+    void recordBind(int viewType, long nanos, long end) {
+        int base = slotOf(viewType) * SLOT_SIZE;
+        mCounters.incrementAndGet(base + BIND_COUNT);
+        mCounters.addAndGet(base + BIND_NANOS, nanos);
+        mCounters.incrementAndGet(base + BIND_HISTOGRAM + bucketOf(nanos));
+        if (null != mListener && end - mNextReport >= 0) {
+            mNextReport = end + mReportInterval;
+            RecycleExecutors.background().execute(mReportRunnable);
+        }
+    }
+
+    private int slotOf(int viewType) {
+        int slot = mSlots.get(viewType, -1);
+        if (slot >= 0) {
+            return slot;
+        }
+        slot = mSlotCount;
+        if (slot == MAX_VIEW_TYPES - 1) {
+            mSlotViewTypes.set(slot, OTHER_VIEW_TYPES);
+        } else if (slot == MAX_VIEW_TYPES) {
+            return MAX_VIEW_TYPES - 1;
+        } else {
+            mSlotViewTypes.set(slot, viewType);
+            mSlots.put(viewType, slot);
+        }
+        mSlotCount = slot + 1;
+        return slot;
+    }
+
+    private static int bucketOf(long nanos) {
+        int bucket = 64 - Long.numberOfLeadingZeros(nanos >>> HISTOGRAM_SHIFT);
+        return bucket < HISTOGRAM_BUCKETS ? bucket : HISTOGRAM_BUCKETS - 1;
+    }
+
+    /**
+     * @param bucket histogram bucket
+     * @return exclusive upper latency bound of the bucket in nanoseconds, Long.MAX_VALUE for the last one
+     */
+    public static long getBucketUpperBound(int bucket) {
+        return bucket >= HISTOGRAM_BUCKETS - 1 ? Long.MAX_VALUE : 1L << (HISTOGRAM_SHIFT + bucket);
+    }
+
+    /**
+     * stats of one view type at the time of the snapshot
+     */
+    public static final class TypeStats {
+        /**
+         * view type, {@link #OTHER_VIEW_TYPES} for the view types beyond {@link #MAX_VIEW_TYPES}
+         */
+        public final int viewType;
+        public final long createCount;
+        public final long createNanos;
+        public final long bindCount;
+        public final long bindNanos;
+        /**
+         * count per bucket, see {@link #getBucketUpperBound(int)}
+         */
+        public final long[] createHistogram;
+        public final long[] bindHistogram;
+
+        TypeStats(int viewType, long createCount, long createNanos, long bindCount, long bindNanos,
+                  long[] createHistogram, long[] bindHistogram) {
+            this.viewType = viewType;
+            this.createCount = createCount;
+            this.createNanos = createNanos;
+            this.bindCount = bindCount;
+            this.bindNanos = bindNanos;
+            this.createHistogram = createHistogram;
+            this.bindHistogram = bindHistogram;
+        }
+
+        /**
+         * @return holders created per bind, the rate the recycled pool had no holder for a bound row
+         */
+        public float getPoolMissRate() {
+            return bindCount == 0 ? 0 : Math.min(1f, (float) createCount / bindCount);
+        }
+
+        /**
+         * @param percentile percentile between 0 and 1
+         * @return upper bound of the bucket holding the percentile of the bind latency in nanoseconds
+         */
+        public long getBindPercentileNanos(float percentile) {
+            return percentileOf(bindHistogram, bindCount, percentile);
+        }
+
+        /**
+         * @param percentile percentile between 0 and 1
+         * @return upper bound of the bucket holding the percentile of the create latency in nanoseconds
+         */
+        public long getCreatePercentileNanos(float percentile) {
+            return percentileOf(createHistogram, createCount, percentile);
+        }
+
+        private static long percentileOf(long[] histogram, long count, float percentile) {
+            if (count == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(count * Math.max(0f, Math.min(1f, percentile))));
+            long seen = 0;
+            for (int i = 0; i < histogram.length; i++) {
+                seen += histogram[i];
+                if (seen >= rank) {
+                    return getBucketUpperBound(i);
+                }
+            }
+            return getBucketUpperBound(histogram.length - 1);
+        }
+    }
+}
@@ -0,0 +1,325 @@
+package recycleview;
+
+import android.support.v7.widget.RecyclerView;
+import android.util.SparseArray;
+import android.view.View;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author yuanzheng
+ * binds the rows about to scroll into view after the current frame, so the frame showing them only lays them out.
+ * prefetching follows the scroll direction, fetches more rows the faster the list scrolls and stops before
+ * the next frame is due. it waits while a layout or adapter update is pending, so it never binds against positions
+ * the list has not laid out yet. prefetched rows are handed to the list through
+ * {@link RecyclerView.ViewCacheExtension}, an adapter change drops the rows it touches or shifts.
+ * must be used on the main thread
+ */
+public class RecycleBindPrefetcher extends RecyclerView.ViewCacheExtension {
+
+    private static final long FRAME_INTERVAL_NANOS = 16 * 1000 * 1000L;
+    private static final int DEFAULT_MAX_PREFETCH_ITEMS = 2;
+
+    private final RecyclerView mRecyclerView;
+    /**
+     * the recycler of the list, known once the list asked this extension for a view
+     */
+    private RecyclerView.Recycler mRecycler;
+    private RecyclerView.Adapter mAdapter;
+    /**
+     * bound rows not attached yet, by adapter position
+     */
+    private final SparseArray<View> mPrefetched = new SparseArray<View>();
+    private int mMaxPrefetchItems = DEFAULT_MAX_PREFETCH_ITEMS;
+    private boolean mPrefetching;
+    private boolean mScrolling;
+    private boolean mVertical = true;
+    private int mDirection;
+    private int mScrollDelta;
+    /**
+     * an adapter change was notified, it is applied by the next layout or scroll
+     */
+    private boolean mPendingUpdates;
+    /**
+     * item count of the last layout or scroll, the positions the list knows about
+     */
+    private int mLayoutItemCount;
+    private long mAverageBindNanos;
+    private long mHitCount;
+    private long mMissCount;
+    private long mWasteCount;
+
+    private final Runnable mPrefetchRunnable = new Runnable() {
+        @Override
+        public void run() {
+            prefetch();
+        }
+    };
+
+    private final RecyclerView.OnScrollListener mScrollListener = new RecyclerView.OnScrollListener() {
+        @Override
+        public void onScrollStateChanged(RecyclerView recyclerView, int newState) {
+            mScrolling = newState != RecyclerView.SCROLL_STATE_IDLE;
+        }
+
+        @Override
+        public void onScrolled(RecyclerView recyclerView, int dx, int dy) {
+            //the list applies pending adapter updates before it scrolls or lays out
+            onUpdatesApplied();
+            if (dx == 0 && dy == 0) {
+                return;
+            }
+            mVertical = dy != 0;
+            int delta = mVertical ? dy : dx;
+            mDirection = delta > 0 ? 1 : -1;
+            mScrollDelta = Math.abs(delta);
+            dropOutOfWindow();
+            mRecyclerView.removeCallbacks(mPrefetchRunnable);
+            mRecyclerView.post(mPrefetchRunnable);
+        }
+    };
+
+    /**
+     * a prefetched holder keeps the position it was bound at, the list does not offset views it has not seen.
+     * rows a change touches or shifts are dropped, the rows before it are kept
+     */
+    private final RecyclerView.AdapterDataObserver mDataObserver = new RecyclerView.AdapterDataObserver() {
+        @Override
+        public void onChanged() {
+            mPendingUpdates = true;
+            clear();
+        }
+
+        @Override
+        public void onItemRangeChanged(int positionStart, int itemCount) {
+            mPendingUpdates = true;
+            drop(positionStart, positionStart + itemCount);
+        }
+
+        @Override
+        public void onItemRangeChanged(int positionStart, int itemCount, Object payload) {
+            mPendingUpdates = true;
+            drop(positionStart, positionStart + itemCount);
+        }
+
+        @Override
+        public void onItemRangeInserted(int positionStart, int itemCount) {
+            mPendingUpdates = true;
+            drop(positionStart, Integer.MAX_VALUE);
+        }
+
+        @Override
+        public void onItemRangeRemoved(int positionStart, int itemCount) {
+            mPendingUpdates = true;
+            drop(positionStart, Integer.MAX_VALUE);
+        }
+
+        @Override
+        public void onItemRangeMoved(int fromPosition, int toPosition, int itemCount) {
+            mPendingUpdates = true;
+            drop(Math.min(fromPosition, toPosition), Math.max(fromPosition, toPosition) + itemCount);
+        }
+    };
+
+    RecycleBindPrefetcher(RecyclerView recyclerView) {
+        mRecyclerView = recyclerView;
+    }
+
+    /**
+     * @param maxPrefetchItems max number of rows bound ahead of the scroll
+     */
+    public void setMaxPrefetchItems(int maxPrefetchItems) {
+        mMaxPrefetchItems = maxPrefetchItems < 0 ? 0 : maxPrefetchItems;
+        dropOutOfWindow();
+    }
+
+    /**
+     * @return number of rows the list took from the prefetched ones
+     */
+    public long getHitCount() {
+        return mHitCount;
+    }
+
+    /**
+     * @return number of rows the list had to bind itself while scrolling
+     */
+    public long getMissCount() {
+        return mMissCount;
+    }
+
+    /**
+     * @return number of prefetched rows dropped unused
+     */
+    public long getWasteCount() {
+        return mWasteCount;
+    }
+
+    public void resetCounters() {
+        mHitCount = 0;
+        mMissCount = 0;
+        mWasteCount = 0;
+    }
+
+    @Override
+    public View getViewForPositionAndType(RecyclerView.Recycler recycler, int position, int type) {
+        mRecycler = recycler;
+        if (mPrefetching) {
+            return null;
+        }
+        //the list asks for views once it applied the pending updates
+        onUpdatesApplied();
+        View view = mPrefetched.get(position);
+        if (null == view) {
+            if (mScrolling) {
+                mMissCount++;
+            }
+            return null;
+        }
+        mPrefetched.remove(position);
+        if (mRecyclerView.getChildViewHolder(view).getItemViewType() != type) {
+            recycle(view);
+            return null;
+        }
+        mHitCount++;
+        return view;
+    }
+
+    void attach() {
+        mRecyclerView.setViewCacheExtension(this);
+        mRecyclerView.addOnScrollListener(mScrollListener);
+        setAdapter(mRecyclerView.getAdapter());
+    }
+
+    void detach() {
+        clear();
+        mRecyclerView.removeCallbacks(mPrefetchRunnable);
+        mRecyclerView.removeOnScrollListener(mScrollListener);
+        mRecyclerView.setViewCacheExtension(null);
+        setAdapter(null);
+    }
+
+    /**
+     * follow the adapter of the list
+     *
+     * @param adapter new adapter
+     */
+    void setAdapter(RecyclerView.Adapter adapter) {
+        if (adapter == mAdapter) {
+            return;
+        }
+        clear();
+        if (null != mAdapter) {
+            mAdapter.unregisterAdapterDataObserver(mDataObserver);
+        }
+        mAdapter = adapter;
+        mPendingUpdates = true;
+        if (null != mAdapter) {
+            mAdapter.registerAdapterDataObserver(mDataObserver);
+        }
+    }
+
+    /**
+     * drop every prefetched row, they are bound to outdated positions
+     */
+    void clear() {
+        for (int i = 0; i < mPrefetched.size(); i++) {
+            recycle(mPrefetched.valueAt(i));
+        }
+        mPrefetched.clear();
+    }
+
+    /**
+     * drop the prefetched rows in a position range
+     *
+     * @param start first position
+     * @param end   position after the last one
+     */
+    private void drop(int start, int end) {
+        for (int i = mPrefetched.size() - 1; i >= 0; i--) {
+            int position = mPrefetched.keyAt(i);
+            if (position >= start && position < end) {
+                recycle(mPrefetched.valueAt(i));
+                mPrefetched.removeAt(i);
+            }
+        }
+    }
+
+    private void onUpdatesApplied() {
+        mPendingUpdates = false;
+        mLayoutItemCount = null == mAdapter ? 0 : mAdapter.getItemCount();
+    }
+
+    private void prefetch() {
+        int childCount = mRecyclerView.getChildCount();
+        if (null == mRecycler || null == mAdapter || childCount == 0 || mDirection == 0) {
+            return;
+        }
+        //positions are only valid against the last layout, a batched change may not be notified yet
+        if (mPendingUpdates || mRecyclerView.isLayoutRequested() || mAdapter.getItemCount() != mLayoutItemCount) {
+            return;
+        }
+        View edge = mRecyclerView.getChildAt(mDirection > 0 ? childCount - 1 : 0);
+        int edgePosition = mRecyclerView.getChildAdapterPosition(edge);
+        if (edgePosition == RecyclerView.NO_POSITION) {
+            return;
+        }
+        //rows crossing the edge during the next frame, at least one
+        int edgeSize = Math.max(1, mVertical ? edge.getHeight() : edge.getWidth());
+        int count = Math.min(mMaxPrefetchItems, 1 + mScrollDelta / edgeSize);
+        //the frame the scroll was drawn in started at the drawing time, the next frame is due one interval later.
+        //the drawing time is uptime, the clock of System.nanoTime on android
+        long frameDeadlineNanos = TimeUnit.MILLISECONDS.toNanos(mRecyclerView.getDrawingTime()) + FRAME_INTERVAL_NANOS;
+        for (int i = 1; i <= count; i++) {
+            int position = edgePosition + mDirection * i;
+            if (position < 0 || position >= mLayoutItemCount) {
+                return;
+            }
+            if (null != mPrefetched.get(position)) {
+                continue;
+            }
+            long start = System.nanoTime();
+            if (start + mAverageBindNanos >= frameDeadlineNanos) {
+                return;
+            }
+            View view;
+            mPrefetching = true;
+            try {
+                view = mRecycler.getViewForPosition(position);
+            } finally {
+                mPrefetching = false;
+            }
+            mPrefetched.put(position, view);
+            long bindNanos = System.nanoTime() - start;
+            mAverageBindNanos = mAverageBindNanos == 0 ? bindNanos : (mAverageBindNanos * 3 + bindNanos) / 4;
+        }
+    }
+
+    /**
+     * drop prefetched rows behind the scroll or too far ahead of it
+     */
+    private void dropOutOfWindow() {
+        int childCount = mRecyclerView.getChildCount();
+        if (mPrefetched.size() == 0 || childCount == 0) {
+            return;
+        }
+        int first = mRecyclerView.getChildAdapterPosition(mRecyclerView.getChildAt(0));
+        int last = mRecyclerView.getChildAdapterPosition(mRecyclerView.getChildAt(childCount - 1));
+        for (int i = mPrefetched.size() - 1; i >= 0; i--) {
+            int position = mPrefetched.keyAt(i);
+            boolean ahead = mDirection > 0
+                    ? position > last && position <= last + mMaxPrefetchItems
+                    : position < first && position >= first - mMaxPrefetchItems;
+            if (!ahead) {
+                recycle(mPrefetched.valueAt(i));
+                mPrefetched.removeAt(i);
+            }
+        }
+    }
+
+    private void recycle(View view) {
+        mWasteCount++;
+        if (null != mRecycler) {
+            mRecycler.recycleView(view);
+        }
+    }
+}
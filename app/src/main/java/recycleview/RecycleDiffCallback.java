@@ -0,0 +1,40 @@
+package recycleview;
+
+/**
+ * @author yuanzheng
+ * tells the {@link RecycleDiffer} how to compare two data items.
+ * the callback is invoked on a background thread, so it must not touch views or mutable adapter state
+ */
+public abstract class RecycleDiffCallback<T> {
+
+    /**
+     * check whether two items represent the same object, usually by comparing their ids
+     *
+     * @param oldItem item in the old list
+     * @param newItem item in the new list
+     * @return true if the two items represent the same object
+     */
+    public abstract boolean areItemsTheSame(T oldItem, T newItem);
+
+    /**
+     * check whether two items have the same visual content, only called when
+     * {@link #areItemsTheSame(Object, Object)} returns true
+     *
+     * @param oldItem item in the old list
+     * @param newItem item in the new list
+     * @return true if the row does not need to be rebound
+     */
+    public abstract boolean areContentsTheSame(T oldItem, T newItem);
+
+    /**
+     * get the payload describing the change between two items, the payload is passed to
+     * {@link android.support.v7.widget.RecyclerView.Adapter#notifyItemChanged(int, Object)}
+     *
+     * @param oldItem item in the old list
+     * @param newItem item in the new list
+     * @return change payload, or null for a full rebind
+     */
+    public Object getChangePayload(T oldItem, T newItem) {
+        return null;
+    }
+}
@@ -0,0 +1,513 @@
+package recycleview;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author yuanzheng
+ * calculates the difference between two lists and turns it into granular insert, remove, move and change
+ * operations. common head and tail runs are trimmed first, the remaining window is diffed with the
+ * Myers algorithm, and windows whose edit distance exceeds {@link #MAX_EDIT_DISTANCE} are treated as a
+ * plain range replacement so the trace never grows beyond a few megabytes
+ */
+public final class RecycleDiffer {
+
+    /**
+     * max edit distance traced by the Myers algorithm, the trace costs (d + 1) ^ 2 ints
+     */
+    public static final int MAX_EDIT_DISTANCE = 1024;
+
+    private static final int FLAG_NOT_CHANGED = 1;
+    private static final int FLAG_CHANGED = FLAG_NOT_CHANGED << 1;
+    private static final int FLAG_MOVED_CHANGED = FLAG_CHANGED << 1;
+    private static final int FLAG_MOVED_NOT_CHANGED = FLAG_MOVED_CHANGED << 1;
+    private static final int FLAG_IGNORE = FLAG_MOVED_NOT_CHANGED << 1;
+    private static final int FLAG_OFFSET = 5;
+    private static final int FLAG_MASK = (1 << FLAG_OFFSET) - 1;
+
+    private RecycleDiffer() {
+    }
+
+    /**
+     * calculate the difference between two lists, this may be slow for big lists, call it on a background thread
+     *
+     * @param oldList     old list
+     * @param newList     new list
+     * @param callback    item comparison callback
+     * @param detectMoves true to dispatch moves instead of remove and insert pairs
+     * @param <T>         item type
+     * @return diff result
+     */
+    public static <T> Result<T> calculateDiff(List<T> oldList, List<T> newList, RecycleDiffCallback<T> callback,
+                                              boolean detectMoves) {
+        final int oldSize = oldList.size();
+        final int newSize = newList.size();
+        ArrayList<Snake> snakes = new ArrayList<Snake>();
+
+        int head = 0;
+        while (head < oldSize && head < newSize && callback.areItemsTheSame(oldList.get(head), newList.get(head))) {
+            head++;
+        }
+        int tail = 0;
+        while (tail < oldSize - head && tail < newSize - head
+                && callback.areItemsTheSame(oldList.get(oldSize - 1 - tail), newList.get(newSize - 1 - tail))) {
+            tail++;
+        }
+
+        snakes.add(new Snake(0, 0, head));
+        findSnakes(oldList, newList, callback, head, oldSize - tail, head, newSize - tail, snakes);
+        snakes.add(new Snake(oldSize - tail, newSize - tail, tail));
+        return new Result<T>(oldList, newList, callback, snakes, detectMoves);
+    }
+
+    /**
+     * trace the middle window with the Myers algorithm and append the matched diagonals in ascending order
+     */
+    private static <T> void findSnakes(List<T> oldList, List<T> newList, RecycleDiffCallback<T> callback,
+                                       int oldStart, int oldEnd, int newStart, int newEnd, ArrayList<Snake> out) {
+        final int n = oldEnd - oldStart;
+        final int m = newEnd - newStart;
+        if (n == 0 || m == 0) {
+            return;
+        }
+        final int max = Math.min(n + m, MAX_EDIT_DISTANCE);
+        final int offset = n + m;
+        final int[] v = new int[2 * offset + 2];
+        final ArrayList<int[]> trace = new ArrayList<int[]>();
+        int distance = -1;
+        for (int d = 0; d <= max && distance < 0; d++) {
+            for (int k = -d; k <= d; k += 2) {
+                int x;
+                if (k == -d || (k != d && v[offset + k - 1] < v[offset + k + 1])) {
+                    x = v[offset + k + 1];
+                } else {
+                    x = v[offset + k - 1] + 1;
+                }
+                int y = x - k;
+                while (x < n && y < m
+                        && callback.areItemsTheSame(oldList.get(oldStart + x), newList.get(newStart + y))) {
+                    x++;
+                    y++;
+                }
+                v[offset + k] = x;
+                if (x >= n && y >= m) {
+                    distance = d;
+                }
+            }
+            int[] step = new int[2 * d + 1];
+            System.arraycopy(v, offset - d, step, 0, step.length);
+            trace.add(step);
+        }
+        if (distance < 0) {
+            // too many edits, replace the whole window
+            return;
+        }
+
+        // walk the trace backwards, collecting matched diagonals from the end
+        ArrayList<Snake> reversed = new ArrayList<Snake>();
+        int x = n;
+        int y = m;
+        for (int d = distance; d > 0; d--) {
+            int[] previous = trace.get(d - 1);
+            int k = x - y;
+            int previousK;
+            if (k == -d || (k != d && previous[k - 1 + d - 1] < previous[k + 1 + d - 1])) {
+                previousK = k + 1;
+            } else {
+                previousK = k - 1;
+            }
+            int previousX = previous[previousK + d - 1];
+            int previousY = previousX - previousK;
+            int startX = previousK == k + 1 ? previousX : previousX + 1;
+            int size = x - startX;
+            if (size > 0) {
+                reversed.add(new Snake(oldStart + x - size, newStart + y - size, size));
+            }
+            x = previousX;
+            y = previousY;
+        }
+        if (x > 0) {
+            reversed.add(new Snake(oldStart, newStart, x));
+        }
+        for (int i = reversed.size() - 1; i >= 0; i--) {
+            out.add(reversed.get(i));
+        }
+    }
+
+    /**
+     * receives the operations of a diff result, positions are relative to the diffed list
+     */
+    public interface UpdateCallback {
+        void onInserted(int position, int count);
+
+        void onRemoved(int position, int count);
+
+        void onMoved(int fromPosition, int toPosition);
+
+        void onChanged(int position, int count, Object payload);
+    }
+
+    /**
+     * a run of items that are the same in both lists
+     */
+    private static final class Snake {
+        final int x;
+        final int y;
+        final int size;
+
+        Snake(int x, int y, int size) {
+            this.x = x;
+            this.y = y;
+            this.size = size;
+        }
+    }
+
+    /**
+     * an item whose move is waiting for its other end to be dispatched
+     */
+    private static final class PostponedUpdate {
+        final int posInOwnerList;
+        int currentPos;
+        final boolean removal;
+
+        PostponedUpdate(int posInOwnerList, int currentPos, boolean removal) {
+            this.posInOwnerList = posInOwnerList;
+            this.currentPos = currentPos;
+            this.removal = removal;
+        }
+    }
+
+    /**
+     * result of {@link #calculateDiff(List, List, RecycleDiffCallback, boolean)}
+     */
+    public static final class Result<T> {
+        private final List<T> mOldList;
+        private final List<T> mNewList;
+        private final RecycleDiffCallback<T> mCallback;
+        private final ArrayList<Snake> mSnakes;
+        private final int[] mOldItemStatuses;
+        private final int[] mNewItemStatuses;
+        private final boolean mDetectMoves;
+
+        Result(List<T> oldList, List<T> newList, RecycleDiffCallback<T> callback, ArrayList<Snake> snakes,
+               boolean detectMoves) {
+            mOldList = oldList;
+            mNewList = newList;
+            mCallback = callback;
+            mSnakes = snakes;
+            mOldItemStatuses = new int[oldList.size()];
+            mNewItemStatuses = new int[newList.size()];
+            mDetectMoves = detectMoves;
+            findMatchingItems();
+        }
+
+        private void findMatchingItems() {
+            int posOld = mOldList.size();
+            int posNew = mNewList.size();
+            for (int i = mSnakes.size() - 1; i >= 0; i--) {
+                final Snake snake = mSnakes.get(i);
+                final int endX = snake.x + snake.size;
+                final int endY = snake.y + snake.size;
+                if (mDetectMoves) {
+                    while (posOld > endX) {
+                        findAddition(posOld, posNew, i);
+                        posOld--;
+                    }
+                    while (posNew > endY) {
+                        findRemoval(posOld, posNew, i);
+                        posNew--;
+                    }
+                }
+                for (int j = 0; j < snake.size; j++) {
+                    final int oldPos = snake.x + j;
+                    final int newPos = snake.y + j;
+                    final int flag = mCallback.areContentsTheSame(mOldList.get(oldPos), mNewList.get(newPos))
+                            ? FLAG_NOT_CHANGED : FLAG_CHANGED;
+                    mOldItemStatuses[oldPos] = (newPos << FLAG_OFFSET) | flag;
+                    mNewItemStatuses[newPos] = (oldPos << FLAG_OFFSET) | flag;
+                }
+                posOld = snake.x;
+                posNew = snake.y;
+            }
+        }
+
+        private void findAddition(int x, int y, int snakeIndex) {
+            if (mOldItemStatuses[x - 1] != 0) {
+                return;
+            }
+            findMatchingItem(x, y, snakeIndex, false);
+        }
+
+        private void findRemoval(int x, int y, int snakeIndex) {
+            if (mNewItemStatuses[y - 1] != 0) {
+                return;
+            }
+            findMatchingItem(x, y, snakeIndex, true);
+        }
+
+        /**
+         * search the gaps before the given snake for the other end of a moved item
+         *
+         * @param removal true to match the new item y - 1 against removed old items,
+         *                false to match the old item x - 1 against inserted new items
+         */
+        private boolean findMatchingItem(int x, int y, int snakeIndex, boolean removal) {
+            final int myItemPos;
+            int curX;
+            int curY;
+            if (removal) {
+                myItemPos = y - 1;
+                curX = x;
+                curY = y - 1;
+            } else {
+                myItemPos = x - 1;
+                curX = x - 1;
+                curY = y;
+            }
+            for (int i = snakeIndex; i >= 0; i--) {
+                final Snake snake = mSnakes.get(i);
+                final int endX = snake.x + snake.size;
+                final int endY = snake.y + snake.size;
+                if (removal) {
+                    for (int pos = curX - 1; pos >= endX; pos--) {
+                        if (mOldItemStatuses[pos] == 0
+                                && mCallback.areItemsTheSame(mOldList.get(pos), mNewList.get(myItemPos))) {
+                            final int changeFlag = mCallback.areContentsTheSame(mOldList.get(pos), mNewList.get(myItemPos))
+                                    ? FLAG_MOVED_NOT_CHANGED : FLAG_MOVED_CHANGED;
+                            mNewItemStatuses[myItemPos] = (pos << FLAG_OFFSET) | FLAG_IGNORE;
+                            mOldItemStatuses[pos] = (myItemPos << FLAG_OFFSET) | changeFlag;
+                            return true;
+                        }
+                    }
+                } else {
+                    for (int pos = curY - 1; pos >= endY; pos--) {
+                        if (mNewItemStatuses[pos] == 0
+                                && mCallback.areItemsTheSame(mOldList.get(myItemPos), mNewList.get(pos))) {
+                            final int changeFlag = mCallback.areContentsTheSame(mOldList.get(myItemPos), mNewList.get(pos))
+                                    ? FLAG_MOVED_NOT_CHANGED : FLAG_MOVED_CHANGED;
+                            mOldItemStatuses[myItemPos] = (pos << FLAG_OFFSET) | FLAG_IGNORE;
+                            mNewItemStatuses[pos] = (myItemPos << FLAG_OFFSET) | changeFlag;
+                            return true;
+                        }
+                    }
+                }
+                curX = snake.x;
+                curY = snake.y;
+            }
+            return false;
+        }
+
+        /**
+         * dispatch the operations to the given callback, consecutive operations are merged into ranges
+         *
+         * @param callback update callback
+         */
+        public void dispatchUpdatesTo(UpdateCallback callback) {
+            final BatchingCallback batchingCallback = new BatchingCallback(callback);
+            final ArrayList<PostponedUpdate> postponedUpdates = new ArrayList<PostponedUpdate>();
+            int posOld = mOldList.size();
+            int posNew = mNewList.size();
+            for (int snakeIndex = mSnakes.size() - 1; snakeIndex >= 0; snakeIndex--) {
+                final Snake snake = mSnakes.get(snakeIndex);
+                final int endX = snake.x + snake.size;
+                final int endY = snake.y + snake.size;
+                if (endX < posOld) {
+                    dispatchRemovals(postponedUpdates, batchingCallback, endX, posOld - endX, endX);
+                }
+                if (endY < posNew) {
+                    dispatchAdditions(postponedUpdates, batchingCallback, endX, posNew - endY, endY);
+                }
+                for (int i = snake.size - 1; i >= 0; i--) {
+                    if ((mOldItemStatuses[snake.x + i] & FLAG_MASK) == FLAG_CHANGED) {
+                        batchingCallback.onChanged(snake.x + i, 1, getChangePayload(snake.x + i, snake.y + i));
+                    }
+                }
+                posOld = snake.x;
+                posNew = snake.y;
+            }
+            batchingCallback.dispatchLastEvent();
+        }
+
+        private Object getChangePayload(int oldPos, int newPos) {
+            return mCallback.getChangePayload(mOldList.get(oldPos), mNewList.get(newPos));
+        }
+
+        private static PostponedUpdate removePostponedUpdate(List<PostponedUpdate> updates, int pos, boolean removal) {
+            for (int i = updates.size() - 1; i >= 0; i--) {
+                final PostponedUpdate update = updates.get(i);
+                if (update.posInOwnerList == pos && update.removal == removal) {
+                    updates.remove(i);
+                    for (int j = i; j < updates.size(); j++) {
+                        // offset other ops since they swapped positions
+                        updates.get(j).currentPos += removal ? 1 : -1;
+                    }
+                    return update;
+                }
+            }
+            return null;
+        }
+
+        private void dispatchAdditions(List<PostponedUpdate> postponedUpdates, UpdateCallback callback,
+                                       int start, int count, int globalIndex) {
+            if (!mDetectMoves) {
+                callback.onInserted(start, count);
+                return;
+            }
+            for (int i = count - 1; i >= 0; i--) {
+                final int status = mNewItemStatuses[globalIndex + i] & FLAG_MASK;
+                switch (status) {
+                    case 0:
+                        // a real addition
+                        callback.onInserted(start, 1);
+                        for (PostponedUpdate update : postponedUpdates) {
+                            update.currentPos += 1;
+                        }
+                        break;
+                    case FLAG_MOVED_CHANGED:
+                    case FLAG_MOVED_NOT_CHANGED:
+                        final int pos = mNewItemStatuses[globalIndex + i] >> FLAG_OFFSET;
+                        final PostponedUpdate update = removePostponedUpdate(postponedUpdates, pos, true);
+                        // the item was moved from that position
+                        callback.onMoved(update.currentPos, start);
+                        if (status == FLAG_MOVED_CHANGED) {
+                            callback.onChanged(start, 1, getChangePayload(pos, globalIndex + i));
+                        }
+                        break;
+                    case FLAG_IGNORE:
+                        // the removal of this item is dispatched later
+                        postponedUpdates.add(new PostponedUpdate(globalIndex + i, start, false));
+                        break;
+                    default:
+                        throw new IllegalStateException("unknown flag for pos " + (globalIndex + i) + " " + status);
+                }
+            }
+        }
+
+        private void dispatchRemovals(List<PostponedUpdate> postponedUpdates, UpdateCallback callback,
+                                      int start, int count, int globalIndex) {
+            if (!mDetectMoves) {
+                callback.onRemoved(start, count);
+                return;
+            }
+            for (int i = count - 1; i >= 0; i--) {
+                final int status = mOldItemStatuses[globalIndex + i] & FLAG_MASK;
+                switch (status) {
+                    case 0:
+                        // a real removal
+                        callback.onRemoved(start + i, 1);
+                        for (PostponedUpdate update : postponedUpdates) {
+                            update.currentPos -= 1;
+                        }
+                        break;
+                    case FLAG_MOVED_CHANGED:
+                    case FLAG_MOVED_NOT_CHANGED:
+                        final int pos = mOldItemStatuses[globalIndex + i] >> FLAG_OFFSET;
+                        final PostponedUpdate update = removePostponedUpdate(postponedUpdates, pos, false);
+                        // the item was moved to that position, minus one because removing it offsets the target
+                        callback.onMoved(start + i, update.currentPos - 1);
+                        if (status == FLAG_MOVED_CHANGED) {
+                            callback.onChanged(update.currentPos - 1, 1, getChangePayload(globalIndex + i, pos));
+                        }
+                        break;
+                    case FLAG_IGNORE:
+                        // the addition of this item is dispatched later
+                        postponedUpdates.add(new PostponedUpdate(globalIndex + i, start + i, true));
+                        break;
+                    default:
+                        throw new IllegalStateException("unknown flag for pos " + (globalIndex + i) + " " + status);
+                }
+            }
+        }
+    }
+
+    /**
+     * merges consecutive operations of the same kind into a single range operation
+     */
+    private static final class BatchingCallback implements UpdateCallback {
+        private static final int TYPE_NONE = 0;
+        private static final int TYPE_ADD = 1;
+        private static final int TYPE_REMOVE = 2;
+        private static final int TYPE_CHANGE = 3;
+
+        private final UpdateCallback mWrapped;
+        private int mLastEventType = TYPE_NONE;
+        private int mLastEventPosition = -1;
+        private int mLastEventCount = -1;
+        private Object mLastEventPayload = null;
+
+        BatchingCallback(UpdateCallback wrapped) {
+            mWrapped = wrapped;
+        }
+
+        void dispatchLastEvent() {
+            if (mLastEventType == TYPE_NONE) {
+                return;
+            }
+            switch (mLastEventType) {
+                case TYPE_ADD:
+                    mWrapped.onInserted(mLastEventPosition, mLastEventCount);
+                    break;
+                case TYPE_REMOVE:
+                    mWrapped.onRemoved(mLastEventPosition, mLastEventCount);
+                    break;
+                case TYPE_CHANGE:
+                    mWrapped.onChanged(mLastEventPosition, mLastEventCount, mLastEventPayload);
+                    break;
+            }
+            mLastEventPayload = null;
+            mLastEventType = TYPE_NONE;
+        }
+
+        @Override
+        public void onInserted(int position, int count) {
+            if (mLastEventType == TYPE_ADD && position >= mLastEventPosition
+                    && position <= mLastEventPosition + mLastEventCount) {
+                mLastEventCount += count;
+                mLastEventPosition = Math.min(position, mLastEventPosition);
+                return;
+            }
+            dispatchLastEvent();
+            mLastEventPosition = position;
+            mLastEventCount = count;
+            mLastEventType = TYPE_ADD;
+        }
+
+        @Override
+        public void onRemoved(int position, int count) {
+            if (mLastEventType == TYPE_REMOVE && mLastEventPosition >= position
+                    && mLastEventPosition <= position + count) {
+                mLastEventCount += count;
+                mLastEventPosition = position;
+                return;
+            }
+            dispatchLastEvent();
+            mLastEventPosition = position;
+            mLastEventCount = count;
+            mLastEventType = TYPE_REMOVE;
+        }
+
+        @Override
+        public void onMoved(int fromPosition, int toPosition) {
+            dispatchLastEvent();
+            mWrapped.onMoved(fromPosition, toPosition);
+        }
+
+        @Override
+        public void onChanged(int position, int count, Object payload) {
+            if (mLastEventType == TYPE_CHANGE
+                    && !(position > mLastEventPosition + mLastEventCount
+                    || position + count < mLastEventPosition || mLastEventPayload != payload)) {
+                // merge with the previous change
+                int previousEnd = mLastEventPosition + mLastEventCount;
+                mLastEventPosition = Math.min(position, mLastEventPosition);
+                mLastEventCount = Math.max(previousEnd, position + count) - mLastEventPosition;
+                return;
+            }
+            dispatchLastEvent();
+            mLastEventPosition = position;
+            mLastEventCount = count;
+            mLastEventPayload = payload;
+            mLastEventType = TYPE_CHANGE;
+        }
+    }
+}
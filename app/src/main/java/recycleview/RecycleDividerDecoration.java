@@ -0,0 +1,137 @@
+package recycleview;
+
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Rect;
+import android.graphics.drawable.Drawable;
+import android.support.v7.widget.RecyclerView;
+import android.view.View;
+
+/**
+ * @author yuanzheng
+ * divider below the rows of a vertical list. the divider space is reserved by {@link #getItemOffsets},
+ * loading, error and empty rows never get a divider, header and footer rows only when enabled.
+ * a solid colour divider is drawn as one batch of lines per frame
+ */
+public class RecycleDividerDecoration extends RecyclerView.ItemDecoration {
+
+    private final Drawable mDrawable;
+    private final Paint mPaint;
+    private final int mHeight;
+    private boolean mDrawHeaderDividers;
+    private boolean mDrawFooterDividers;
+    /**
+     * line end points of the solid colour divider, reused across frames
+     */
+    private float[] mLines = new float[0];
+
+    /**
+     * @param drawable divider drawable
+     * @param height   divider height, negative to use the intrinsic height of the drawable
+     */
+    public RecycleDividerDecoration(Drawable drawable, int height) {
+        if (null == drawable) {
+            throw new NullPointerException("drawable resource is null");
+        }
+        mDrawable = drawable;
+        mPaint = null;
+        mHeight = height < 0 ? Math.max(0, drawable.getIntrinsicHeight()) : height;
+    }
+
+    /**
+     * @param color  divider color
+     * @param height divider height
+     */
+    public RecycleDividerDecoration(int color, int height) {
+        mDrawable = null;
+        mPaint = new Paint();
+        mPaint.setColor(color);
+        mPaint.setStyle(Paint.Style.STROKE);
+        mHeight = height < 0 ? 0 : height;
+        mPaint.setStrokeWidth(mHeight);
+    }
+
+    /**
+     * @param drawHeaderDividers true to draw dividers below header rows
+     */
+    public void setDrawHeaderDividers(boolean drawHeaderDividers) {
+        mDrawHeaderDividers = drawHeaderDividers;
+    }
+
+    /**
+     * @param drawFooterDividers true to draw dividers below footer rows
+     */
+    public void setDrawFooterDividers(boolean drawFooterDividers) {
+        mDrawFooterDividers = drawFooterDividers;
+    }
+
+    @Override
+    public void getItemOffsets(Rect outRect, View view, RecyclerView parent, RecyclerView.State state) {
+        if (hasDivider(parent, parent.getChildAdapterPosition(view))) {
+            outRect.set(0, 0, 0, mHeight);
+        } else {
+            outRect.set(0, 0, 0, 0);
+        }
+    }
+
+    @Override
+    public void onDraw(Canvas c, RecyclerView parent, RecyclerView.State state) {
+        if (mHeight == 0) {
+            return;
+        }
+        int left = parent.getPaddingLeft();
+        int right = parent.getWidth() - parent.getPaddingRight();
+        int childCount = parent.getChildCount();
+        int lineCount = 0;
+        for (int i = 0; i < childCount; i++) {
+            View child = parent.getChildAt(i);
+            if (!hasDivider(parent, parent.getChildAdapterPosition(child))) {
+                continue;
+            }
+            RecyclerView.LayoutParams params = (RecyclerView.LayoutParams) child.getLayoutParams();
+            int top = child.getBottom() + params.bottomMargin;
+            if (null == mPaint) {
+                mDrawable.setBounds(left, top, right, top + mHeight);
+                mDrawable.draw(c);
+                continue;
+            }
+            if (mLines.length < (lineCount + 1) * 4) {
+                float[] lines = new float[Math.max(childCount, 4) * 4];
+                System.arraycopy(mLines, 0, lines, 0, lineCount * 4);
+                mLines = lines;
+            }
+            float y = top + mHeight / 2f;
+            int index = lineCount * 4;
+            mLines[index] = left;
+            mLines[index + 1] = y;
+            mLines[index + 2] = right;
+            mLines[index + 3] = y;
+            lineCount++;
+        }
+        if (lineCount > 0) {
+            c.drawLines(mLines, 0, lineCount * 4, mPaint);
+        }
+    }
+
+    private boolean hasDivider(RecyclerView parent, int position) {
+        if (position == RecyclerView.NO_POSITION) {
+            return false;
+        }
+        RecyclerView.Adapter adapter = parent.getAdapter();
+        if (!(adapter instanceof RecycleListAdapter)) {
+            return true;
+        }
+        RecycleListAdapter listAdapter = (RecycleListAdapter) adapter;
+        if (listAdapter.mMode != RecycleMode.MODE_DATA) {
+            return false;
+        }
+        int headerCount = listAdapter.getHeaderCount();
+        if (position < headerCount) {
+            return mDrawHeaderDividers;
+        }
+        if (position >= headerCount + listAdapter.getDataCount()) {
+            return mDrawFooterDividers;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,83 @@
+package recycleview;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * @author yuanzheng
+ * shared threads used by the recycler view components, the background workers and the main thread handler
+ */
+final class RecycleExecutors {
+
+    private static ExecutorService sBackground;
+    private static ExecutorService sInflater;
+    private static ExecutorService sPager;
+    private static Handler sMainHandler;
+
+    private RecycleExecutors() {
+    }
+
+    /**
+     * @return single background worker, tasks are run in submission order
+     */
+    static synchronized ExecutorService background() {
+        if (null == sBackground) {
+            sBackground = Executors.newSingleThreadExecutor(
+                    newThreadFactory("RecycleListAdapter-worker", Thread.NORM_PRIORITY - 1));
+        }
+        return sBackground;
+    }
+
+    /**
+     * @return single background worker for view inflation, kept apart so inflating never delays a diff
+     */
+    static synchronized ExecutorService inflater() {
+        if (null == sInflater) {
+            sInflater = Executors.newSingleThreadExecutor(
+                    newThreadFactory("RecycleListAdapter-inflater", Thread.NORM_PRIORITY - 1));
+        }
+        return sInflater;
+    }
+
+    /**
+     * @return single background worker for paged list loads, kept apart so a slow page never delays a diff
+     */
+    static synchronized ExecutorService pager() {
+        if (null == sPager) {
+            sPager = Executors.newSingleThreadExecutor(
+                    newThreadFactory("RecycleListAdapter-pager", Thread.NORM_PRIORITY - 1));
+        }
+        return sPager;
+    }
+
+    /**
+     * @param name     thread name
+     * @param priority thread priority
+     * @return factory of daemon threads, they never keep the process alive
+     */
+    private static ThreadFactory newThreadFactory(final String name, final int priority) {
+        return new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, name);
+                thread.setDaemon(true);
+                thread.setPriority(priority);
+                return thread;
+            }
+        };
+    }
+
+    /**
+     * @return handler bound to the main looper
+     */
+    static synchronized Handler mainHandler() {
+        if (null == sMainHandler) {
+            sMainHandler = new Handler(Looper.getMainLooper());
+        }
+        return sMainHandler;
+    }
+}
@@ -0,0 +1,172 @@
+package recycleview;
+
+import android.os.Looper;
+import android.os.MessageQueue;
+import android.support.v7.widget.RecyclerView;
+import android.util.Log;
+import android.util.SparseArray;
+import android.util.SparseIntArray;
+import android.view.ViewGroup;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author yuanzheng
+ * holders inflated ahead of time on a background thread. filling starts once the main thread is idle,
+ * so it never competes with the first layout, and taken holders are replaced on the next idle. the holder creator is called on the background thread
+ * and must not touch anything bound to the main thread
+ */
+final class RecycleInflatePool {
+
+    private static final String TAG = "RecycleInflatePool";
+
+    /**
+     * creates a holder without listeners, called on the background thread
+     */
+    interface HolderCreator {
+        RecyclerView.ViewHolder createViewHolder(ViewGroup parent, int viewType);
+    }
+
+    private final HolderCreator mCreator;
+    /**
+     * number of holders to keep ready by view type
+     */
+    private final SparseIntArray mTargets = new SparseIntArray();
+    /**
+     * inflated holders by view type, guarded by this
+     */
+    private final SparseArray<List<RecyclerView.ViewHolder>> mHolders = new SparseArray<List<RecyclerView.ViewHolder>>();
+    /**
+     * increased by stop, a running fill for an older generation stops and drops its holders
+     */
+    private volatile int mGeneration;
+    private ViewGroup mParent;
+    private boolean mFillScheduled;
+
+    private final MessageQueue.IdleHandler mIdleHandler = new MessageQueue.IdleHandler() {
+        @Override
+        public boolean queueIdle() {
+            mFillScheduled = false;
+            fill();
+            return false;
+        }
+    };
+
+    RecycleInflatePool(HolderCreator creator) {
+        mCreator = creator;
+    }
+
+    /**
+     * @param viewType view type
+     * @param count    number of holders to inflate ahead, 0 to stop pre inflating the type
+     */
+    void setTarget(int viewType, int count) {
+        if (count <= 0) {
+            mTargets.delete(viewType);
+        } else {
+            mTargets.put(viewType, count);
+        }
+        scheduleFill();
+    }
+
+    /**
+     * start filling when the main thread is idle
+     *
+     * @param parent parent the holders are inflated for
+     */
+    void start(ViewGroup parent) {
+        mParent = parent;
+        scheduleFill();
+    }
+
+    /**
+     * stop filling and drop the inflated holders
+     */
+    void stop() {
+        mGeneration++;
+        mParent = null;
+        if (mFillScheduled) {
+            Looper.myQueue().removeIdleHandler(mIdleHandler);
+            mFillScheduled = false;
+        }
+        synchronized (this) {
+            mHolders.clear();
+        }
+    }
+
+    /**
+     * take a holder on the main thread, the type is filled up again on the next idle
+     *
+     * @param viewType view type
+     * @return an inflated holder, null if none is ready
+     */
+    RecyclerView.ViewHolder take(int viewType) {
+        RecyclerView.ViewHolder holder;
+        synchronized (this) {
+            List<RecyclerView.ViewHolder> holders = mHolders.get(viewType);
+            if (null == holders || holders.isEmpty()) {
+                return null;
+            }
+            holder = holders.remove(holders.size() - 1);
+        }
+        scheduleFill();
+        return holder;
+    }
+
+    private void scheduleFill() {
+        if (null == mParent || mFillScheduled || mTargets.size() == 0) {
+            return;
+        }
+        mFillScheduled = true;
+        Looper.myQueue().addIdleHandler(mIdleHandler);
+    }
+
+    private void fill() {
+        final ViewGroup parent = mParent;
+        if (null == parent) {
+            return;
+        }
+        final int generation = mGeneration;
+        final SparseIntArray targets = new SparseIntArray(mTargets.size());
+        for (int i = 0; i < mTargets.size(); i++) {
+            targets.put(mTargets.keyAt(i), mTargets.valueAt(i));
+        }
+        RecycleExecutors.inflater().execute(new Runnable() {
+            @Override
+            public void run() {
+                for (int i = 0; i < targets.size(); i++) {
+                    int viewType = targets.keyAt(i);
+                    while (generation == mGeneration && count(viewType) < targets.valueAt(i)) {
+                        RecyclerView.ViewHolder holder;
+                        try {
+                            holder = mCreator.createViewHolder(parent, viewType);
+                        } catch (RuntimeException e) {
+                            //the holder needs the main thread, it keeps being inflated on demand
+                            Log.w(TAG, "pre inflating view type " + viewType + " failed, " + e);
+                            break;
+                        }
+                        offer(generation, viewType, holder);
+                    }
+                }
+            }
+        });
+    }
+
+    private synchronized int count(int viewType) {
+        List<RecyclerView.ViewHolder> holders = mHolders.get(viewType);
+        return null == holders ? 0 : holders.size();
+    }
+
+    private synchronized void offer(int generation, int viewType, RecyclerView.ViewHolder holder) {
+        if (null == holder || generation != mGeneration) {
+            return;
+        }
+        List<RecyclerView.ViewHolder> holders = mHolders.get(viewType);
+        if (null == holders) {
+            holders = new ArrayList<RecyclerView.ViewHolder>();
+            mHolders.put(viewType, holders);
+        }
+        holders.add(holder);
+    }
+}
@@ -0,0 +1,16 @@
+package recycleview;
+
+/**
+ * @author yuanzheng
+ * a view factory for the data rows it claims, delegates are asked in registration order
+ * and rows no delegate claims fall back to the adapter's own data holder
+ */
+public abstract class RecycleItemDelegate<T> extends RecycleViewFactory<T> {
+
+    /**
+     * @param item     data item, null for a placeholder of a paged list
+     * @param position data position
+     * @return true if this delegate creates and binds the row
+     */
+    public abstract boolean isForItem(T item, int position);
+}
@@ -0,0 +1,15 @@
+package recycleview;
+
+/**
+ * @author yuanzheng
+ * extracts a stable key from a data item, used for stable ids and for diffing by key.
+ * two items with the same key are treated as the same row, the whole 64 bit key is used
+ */
+public interface RecycleKeyExtractor<T> {
+
+    /**
+     * @param item data item
+     * @return key of the item, must not change while the item is displayed
+     */
+    long getItemKey(T item);
+}
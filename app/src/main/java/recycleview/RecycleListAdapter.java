@@ -1,13 +1,22 @@
 package recycleview;
 
-import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.support.v7.widget.GridLayoutManager;
 import android.support.v7.widget.RecyclerView;
+import android.support.v7.widget.StaggeredGridLayoutManager;
 import android.util.Log;
 import android.view.View;
 import android.view.ViewGroup;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * @author yuanzheng
@@ -19,6 +28,27 @@ public abstract class RecycleListAdapter<T> extends RecyclerView.Adapter {
 
     private static final String TAG = "RecycleListAdapter";
 
+    /**
+     * stable ids mix the whole 64 bit value with a seed per section, the mix is one to one,
+     * so two values of the same section never collide and rows of different sections practically never do
+     */
+    private static final long ID_SECTION_DATA = 0x9e3779b97f4a7c15L;
+    private static final long ID_SECTION_HEADER = 0xbf58476d1ce4e5b9L;
+    private static final long ID_SECTION_FOOTER = 0x94d049bb133111ebL;
+    private static final long ID_SECTION_STATE = 0x2545f4914f6cdd1dL;
+
+    /**
+     * default delay before a click is dispatched, so the ripple has time to show
+     */
+    public static final long DEFAULT_CLICK_DELAY = 200;
+
+    private static final int CLICK_DATA = 0;
+    private static final int CLICK_DATA_LONG = 1;
+    private static final int CLICK_HEADER = 2;
+    private static final int CLICK_FOOTER = 3;
+    private static final int CLICK_EMPTY = 4;
+    private static final int CLICK_ERROR = 5;
+
     /**
      * data set
      */
@@ -43,14 +73,230 @@ public abstract class RecycleListAdapter<T> extends RecyclerView.Adapter {
     //you can use AppBarLayout.getMeasuredHeight method to get toobar height.
     protected int mToolBarHeight;
 
+    /**
+     * true while the list is dragged or settling, kept up to date while the adapter is attached
+     */
     protected boolean isScrolling;
 
+    /**
+     * payload of the rebind of the rows bound lite during a fast fling, routed to the full bind
+     */
+    public static final Object PAYLOAD_FULL_BIND = new Object();
+    /**
+     * ignore the gaps between scroll frames longer than this when estimating the fling velocity
+     */
+    private static final long MAX_SCROLL_FRAME_GAP = 100;
+    /**
+     * data rows are bound lite while the list flings faster than this, in pixels per second, 0 to always bind fully
+     */
+    private int mLiteBindVelocity;
+    private boolean mFastFling;
+    private int mScrollState = RecyclerView.SCROLL_STATE_IDLE;
+    private long mLastScrolledTime;
+    /**
+     * create and bind instrumentation, null while turned off
+     */
+    private RecycleAdapterMetrics mMetrics;
+    /**
+     * holders bound lite, by identity, rebound fully once the list is idle
+     */
+    private final Map<RecyclerView.ViewHolder, Boolean> mLiteBoundHolders =
+            new IdentityHashMap<RecyclerView.ViewHolder, Boolean>();
+    private boolean mRebindLiteOnCommit;
+    private final RecyclerView.OnScrollListener mScrollStateListener = new RecyclerView.OnScrollListener() {
+        @Override
+        public void onScrollStateChanged(RecyclerView recyclerView, int newState) {
+            setScrollState(newState);
+        }
+
+        @Override
+        public void onScrolled(RecyclerView recyclerView, int dx, int dy) {
+            if (mScrollState != RecyclerView.SCROLL_STATE_SETTLING || mLiteBindVelocity == 0) {
+                return;
+            }
+            long now = SystemClock.uptimeMillis();
+            long elapsed = now - mLastScrolledTime;
+            mLastScrolledTime = now;
+            if (elapsed > 0 && elapsed < MAX_SCROLL_FRAME_GAP) {
+                //the binds of the next frame follow the velocity of this one
+                int delta = Math.max(Math.abs(dx), Math.abs(dy));
+                mFastFling = delta * 1000L / elapsed >= mLiteBindVelocity;
+            }
+        }
+    };
+
     private RecycleListenerInterface.OnItemClickListener mOnItemClickListener;
     private RecycleListenerInterface.OnItemLongClickListener mOnItemLongClickListener;
     private RecycleListenerInterface.OnEmptyViewClickListener mOnEmptyViewClickListener;
     private RecycleListenerInterface.OnErrorViewClickListener mOnErrorViewClickListener;
     private RecycleListenerInterface.OnHeaderViewClickListener mOnHeaderViewClickListener;
     private RecycleListenerInterface.OnFooterViewClickListener mOnFooterViewClickListener;
+    /**
+     * delay before click listeners are called, 0 to call them at once
+     */
+    private long mClickDelay = DEFAULT_CLICK_DELAY;
+
+    /**
+     * when set, setData diffs the new list against the current one on a background thread
+     */
+    private RecycleDiffCallback<T> mDiffCallback;
+    private boolean mDetectMoves;
+    /**
+     * increased by every setData call, a running diff is dropped once its generation is outdated
+     */
+    private volatile int mDiffGeneration;
+    /**
+     * data waiting for its diff result
+     */
+    private List<T> mPendingData;
+    /**
+     * key extractor for stable data ids
+     */
+    private RecycleKeyExtractor<T> mKeyExtractor;
+    private RecycleDiffCallback<T> mKeyDiffCallback;
+    /**
+     * ids handed out to header and footer objects, kept until the object is removed
+     */
+    private final Map<Object, Long> mHeaderIds = new HashMap<Object, Long>();
+    private final Map<Object, Long> mFooterIds = new HashMap<Object, Long>();
+    private long mNextSectionId;
+
+    /**
+     * view types of the registered view factories
+     */
+    private final RecycleViewTypeRegistry mViewTypes = new RecycleViewTypeRegistry();
+    /**
+     * data delegates in registration order
+     */
+    private final List<RecycleViewTypeRegistry.Entry> mItemDelegates = new ArrayList<RecycleViewTypeRegistry.Entry>();
+    /**
+     * view factories of the headers and footers added with one, the others use the adapter's own holders
+     */
+    private final Map<Object, RecycleViewTypeRegistry.Entry> mHeaderFactories = new HashMap<Object, RecycleViewTypeRegistry.Entry>();
+    private final Map<Object, RecycleViewTypeRegistry.Entry> mFooterFactories = new HashMap<Object, RecycleViewTypeRegistry.Entry>();
+    private RecyclerView mRecyclerView;
+    /**
+     * paged data source, set when mData is a paged list
+     */
+    private RecyclePagedList<T> mPagedList;
+    /**
+     * holders inflated ahead on the inflater thread
+     */
+    private final RecycleInflatePool mInflatePool = new RecycleInflatePool(new RecycleInflatePool.HolderCreator() {
+        @Override
+        public RecyclerView.ViewHolder createViewHolder(ViewGroup parent, int viewType) {
+            return createSectionViewHolder(parent, viewType);
+        }
+    });
+
+    /**
+     * nesting depth of beginBatch, notifications are held back while it is above 0
+     */
+    private int mBatchDepth;
+    /**
+     * state at the outermost beginBatch, commit diffs the current state against it
+     */
+    private int mBatchMode;
+    private List<Object> mBatchHeaders;
+    private List<Object> mBatchFooters;
+    private List<T> mBatchData;
+    /**
+     * items updated during the batch with their payloads
+     */
+    private final Map<Object, Object> mBatchChanges = new IdentityHashMap<Object, Object>();
+
+    private OnDataResetListener mOnDataResetListener;
+
+    /**
+     * marks the snapshot of the data stale on every notification, and drops the producer index on the ones
+     * the producer ops did not send
+     */
+    private final RecyclerView.AdapterDataObserver mSnapshotObserver = new RecyclerView.AdapterDataObserver() {
+        @Override
+        public void onChanged() {
+            onDataNotified();
+        }
+
+        @Override
+        public void onItemRangeChanged(int positionStart, int itemCount) {
+            onDataNotified();
+        }
+
+        @Override
+        public void onItemRangeInserted(int positionStart, int itemCount) {
+            onDataNotified();
+        }
+
+        @Override
+        public void onItemRangeRemoved(int positionStart, int itemCount) {
+            onDataNotified();
+        }
+
+        @Override
+        public void onItemRangeMoved(int fromPosition, int toPosition, int itemCount) {
+            onDataNotified();
+        }
+    };
+
+    /**
+     * changes posted from any thread, drained on the main thread at most once per frame
+     */
+    private static final long DRAIN_INTERVAL = 16;
+    private static final int PRODUCER_APPEND = 0;
+    private static final int PRODUCER_UPDATE = 1;
+    private static final int PRODUCER_REMOVE = 2;
+    private final ConcurrentLinkedQueue<ProducerOp<T>> mProducerOps = new ConcurrentLinkedQueue<ProducerOp<T>>();
+    private final AtomicBoolean mDrainScheduled = new AtomicBoolean();
+    private volatile long mLastDrainTime;
+    /**
+     * immutable copy of the data returned by {@link #getData()}, copied again only after the data changed
+     */
+    private volatile List<T> mSnapshot;
+    private volatile boolean mSnapshotDirty = true;
+    /**
+     * set by a read from another thread, the next drain publishes a fresh snapshot for it
+     */
+    private volatile boolean mSnapshotRequested;
+    /**
+     * data position of each item by its key, or by the item itself without a key extractor, for the producer ops.
+     * the ops keep it up to date, any other change of the data drops it and the next op rebuilds it
+     */
+    private Map<Object, Integer> mProducerIndex;
+    private List<T> mProducerIndexData;
+    private boolean mProducerIndexHasDuplicates;
+    private boolean mApplyingProducerOp;
+    private final Runnable mDrainRunnable = new Runnable() {
+        @Override
+        public void run() {
+            mDrainScheduled.set(false);
+            drainProducerOps();
+        }
+    };
+
+    /**
+     * applies diff results to the data section, offset by the headers
+     */
+    private final RecycleDiffer.UpdateCallback mDiffUpdateCallback = new RecycleDiffer.UpdateCallback() {
+        @Override
+        public void onInserted(int position, int count) {
+            notifyItemRangeInserted(mHeaders.size() + position, count);
+        }
+
+        @Override
+        public void onRemoved(int position, int count) {
+            notifyItemRangeRemoved(mHeaders.size() + position, count);
+        }
+
+        @Override
+        public void onMoved(int fromPosition, int toPosition) {
+            notifyItemMoved(mHeaders.size() + fromPosition, mHeaders.size() + toPosition);
+        }
+
+        @Override
+        public void onChanged(int position, int count, Object payload) {
+            notifyItemRangeChanged(mHeaders.size() + position, count, payload);
+        }
+    };
 
     public RecycleListAdapter(ArrayList<T> data) {
         this(data, RecycleMode.MODE_DATA, 0);
@@ -66,33 +312,568 @@ public abstract class RecycleListAdapter<T> extends RecyclerView.Adapter {
 
     public RecycleListAdapter(List<T> data, List<Object> headers, List<Object> footers, int mode, int toolBarHeight) {
         this.mData = null == data ? new ArrayList<T>() : data;
-        this.mHeaders = null == headers ? new ArrayList<Object>() : headers;
-        this.mFooters = null == footers ? new ArrayList<Object>() : footers;
+        this.mHeaders = null == headers ? new RecycleSectionList() : new RecycleSectionList(headers);
+        this.mFooters = null == footers ? new RecycleSectionList() : new RecycleSectionList(footers);
         this.mMode = mData.isEmpty() ? RecycleMode.MODE_EMPTY : mode;
         this.mToolBarHeight = toolBarHeight;
+        registerAdapterDataObserver(mSnapshotObserver);
     }
 
     public void setData(List<T> data) {
         setData(data, RecycleMode.MODE_DATA);
     }
 
+    /**
+     * replace the data set, if a diff callback is set and both the old and the new list are displayed in data mode,
+     * the lists are diffed on a background thread and only the changed rows are notified.
+     * the new list must not be modified after it is passed in. passing the current list back after changing it
+     * in place refreshes the whole list, its old contents are gone and there is nothing to diff it against
+     *
+     * @param data data
+     * @param mode mode
+     */
     public void setData(List<T> data, int mode) {
-        this.mData = null == data ? new ArrayList<T>() : data;
-        this.mMode = mData.isEmpty() ? RecycleMode.MODE_EMPTY : mode;
-        this.notifyDataSetChanged();
+        if (null != mOnDataResetListener) {
+            mOnDataResetListener.onDataReset();
+        }
+        List<T> newData = null == data ? new ArrayList<T>() : data;
+        int newMode = newData.isEmpty() ? RecycleMode.MODE_EMPTY : mode;
+        //drop any diff that is still running
+        mDiffGeneration++;
+        mPendingData = null;
+        //a paged list would load every page when diffed, it is always replaced with a full refresh
+        boolean paged = null != mPagedList || newData instanceof RecyclePagedList;
+        detachPagedList();
+        if (newData instanceof RecyclePagedList) {
+            mPagedList = (RecyclePagedList<T>) newData;
+            mPagedList.setCallback(mDiffUpdateCallback);
+        }
+        if (!paged && !isBatching() && newData != mData && null != obtainDiffCallback()
+                && mMode == RecycleMode.MODE_DATA && newMode == RecycleMode.MODE_DATA && !mData.isEmpty()) {
+            calculateDiff(newData);
+            return;
+        }
+        this.mData = newData;
+        this.mMode = newMode;
+        dispatchDataSetChanged();
     }
 
-    public void addData(List<T> data) {
+    /**
+     * display a paged data source, only a window of pages around the viewport is kept in memory and unloaded rows
+     * are bound with {@link #onBindPlaceholderViewHolder(RecyclerView.ViewHolder, int)}
+     *
+     * @param pagedList paged list
+     */
+    public void setPagedList(RecyclePagedList<T> pagedList) {
+        setData(pagedList, RecycleMode.MODE_DATA);
+    }
+
+    /**
+     * @return the paged data source, null when the data is a plain list
+     */
+    public RecyclePagedList<T> getPagedList() {
+        return mPagedList;
+    }
+
+    /**
+     * a paged list is read only, its pages are loaded by the list itself
+     */
+    private boolean isPaged() {
+        if (null != mPagedList) {
+            Log.e(TAG, "error: you can not change the data of a paged list");
+            return true;
+        }
+        return false;
+    }
+
+    private void detachPagedList() {
+        if (null != mPagedList) {
+            mPagedList.setCallback(null);
+            mPagedList = null;
+        }
+    }
+
+    /**
+     * set the diff callback used by {@link #setData(List, int)}, moves are detected
+     *
+     * @param diffCallback diff callback, null to always refresh the whole list
+     */
+    public void setDiffCallback(RecycleDiffCallback<T> diffCallback) {
+        setDiffCallback(diffCallback, true);
+    }
+
+    /**
+     * set the diff callback used by {@link #setData(List, int)}
+     *
+     * @param diffCallback diff callback, null to always refresh the whole list
+     * @param detectMoves  true to notify moved rows as moves, false to notify them as a remove and an insert
+     */
+    public void setDiffCallback(RecycleDiffCallback<T> diffCallback, boolean detectMoves) {
+        mDiffCallback = diffCallback;
+        mDetectMoves = detectMoves;
+    }
+
+    /**
+     * set the key extractor used for stable data ids, call {@link #setHasStableIds(boolean)} with true
+     * before the adapter is attached to enable stable ids.
+     * while stable ids are enabled and no diff callback is set, setData diffs rows by key and compares contents with equals
+     *
+     * @param keyExtractor key extractor
+     */
+    public void setKeyExtractor(RecycleKeyExtractor<T> keyExtractor) {
+        if (null == keyExtractor && hasStableIds()) {
+            throw new IllegalStateException("stable ids need a key extractor");
+        }
+        mKeyExtractor = keyExtractor;
+        mKeyDiffCallback = null == keyExtractor ? null : new KeyDiffCallback<T>(keyExtractor);
+    }
+
+    /**
+     * data ids come from the key extractor, set it with {@link #setKeyExtractor(RecycleKeyExtractor)} first
+     *
+     * @param hasStableIds true to enable stable ids
+     */
+    @Override
+    public void setHasStableIds(boolean hasStableIds) {
+        if (hasStableIds && null == mKeyExtractor) {
+            throw new IllegalStateException("stable ids need a key extractor");
+        }
+        //the list refuses the change while observers are registered, the adapter's own one included
+        unregisterAdapterDataObserver(mSnapshotObserver);
+        try {
+            super.setHasStableIds(hasStableIds);
+        } finally {
+            registerAdapterDataObserver(mSnapshotObserver);
+        }
+    }
+
+    private RecycleDiffCallback<T> obtainDiffCallback() {
+        if (null != mDiffCallback) {
+            return mDiffCallback;
+        }
+        return hasStableIds() ? mKeyDiffCallback : null;
+    }
+
+    private void calculateDiff(final List<T> newData) {
+        final int generation = mDiffGeneration;
+        final List<T> oldData = new ArrayList<T>(mData);
+        final RecycleDiffCallback<T> diffCallback = obtainDiffCallback();
+        final boolean detectMoves = mDetectMoves;
+        mPendingData = newData;
+        RecycleExecutors.background().execute(new Runnable() {
+            @Override
+            public void run() {
+                if (generation != mDiffGeneration) {
+                    return;
+                }
+                final RecycleDiffer.Result<T> result = RecycleDiffer.calculateDiff(oldData, newData, diffCallback, detectMoves);
+                RecycleExecutors.mainHandler().post(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (generation != mDiffGeneration) {
+                            return;
+                        }
+                        mPendingData = null;
+                        mData = newData;
+                        result.dispatchUpdatesTo(mDiffUpdateCallback);
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * apply a pending diff at once with a full refresh, so the next change works on the latest data
+     */
+    private void flushPendingDiff() {
+        if (null == mPendingData) {
+            return;
+        }
+        mDiffGeneration++;
+        mData = mPendingData;
+        mPendingData = null;
+        dispatchDataSetChanged();
+    }
+
+    /**
+     * start collecting header, data, footer and mode changes, they are notified together by {@link #commit()}.
+     * batches may be nested, only the outermost commit notifies
+     */
+    public void beginBatch() {
+        if (mBatchDepth++ > 0) {
+            return;
+        }
+        flushPendingDiff();
+        mBatchMode = mMode;
+        mBatchHeaders = new ArrayList<Object>(mHeaders);
+        mBatchFooters = new ArrayList<Object>(mFooters);
+        //a paged list is never copied, it would load every page
+        mBatchData = null == mPagedList ? new ArrayList<T>(mData) : mData;
+    }
+
+    /**
+     * notify the changes collected since {@link #beginBatch()} as the minimal range notifications per section,
+     * they are applied in a single layout pass
+     */
+    public void commit() {
+        if (mBatchDepth == 0) {
+            throw new IllegalStateException("commit called without beginBatch");
+        }
+        if (--mBatchDepth > 0) {
+            return;
+        }
+        int oldMode = mBatchMode;
+        List<Object> oldHeaders = mBatchHeaders;
+        List<Object> oldFooters = mBatchFooters;
+        List<T> oldData = mBatchData;
+        mBatchHeaders = null;
+        mBatchFooters = null;
+        mBatchData = null;
+        //a batch outside the data mode notifies nothing, the data may still have changed
+        invalidateSnapshot();
+        if (oldMode != mMode) {
+            mBatchChanges.clear();
+            notifyDataSetChanged();
+            return;
+        }
+        if (mMode != RecycleMode.MODE_DATA) {
+            //the state row does not show the sections
+            mBatchChanges.clear();
+            return;
+        }
+        if (oldData != mData && (oldData instanceof RecyclePagedList || mData instanceof RecyclePagedList)) {
+            mBatchChanges.clear();
+            notifyDataSetChanged();
+            return;
+        }
+        //later sections first, so the positions of the earlier ones still match what the list shows
+        dispatchSectionDiff(oldFooters, mFooters, new EqualsDiffCallback<Object>(), oldHeaders.size() + oldData.size());
+        if (oldData != mPagedList) {
+            RecycleDiffCallback<T> diffCallback = obtainDiffCallback();
+            dispatchSectionDiff(oldData, mData, null == diffCallback ? new EqualsDiffCallback<T>() : diffCallback,
+                    oldHeaders.size());
+        }
+        dispatchSectionDiff(oldHeaders, mHeaders, new EqualsDiffCallback<Object>(), 0);
+        if (!mBatchChanges.isEmpty()) {
+            //in place updates go last, on the final positions
+            for (int i = 0, size = mData.size(); i < size && !mBatchChanges.isEmpty(); i++) {
+                T item = mData.get(i);
+                if (mBatchChanges.containsKey(item)) {
+                    notifyItemChanged(mHeaders.size() + i, mBatchChanges.remove(item));
+                }
+            }
+            for (int i = 0, size = mFooters.size(); i < size && !mBatchChanges.isEmpty(); i++) {
+                Object footer = mFooters.get(i);
+                if (mBatchChanges.containsKey(footer)) {
+                    notifyItemChanged(mHeaders.size() + mData.size() + i, mBatchChanges.remove(footer));
+                }
+            }
+            mBatchChanges.clear();
+        }
+        if (mRebindLiteOnCommit) {
+            mRebindLiteOnCommit = false;
+            rebindLiteHolders();
+        }
+    }
+
+    private boolean isBatching() {
+        return mBatchDepth > 0;
+    }
+
+    private <E> void dispatchSectionDiff(List<E> oldSection, List<E> newSection, RecycleDiffCallback<E> callback,
+                                         final int offset) {
+        if (oldSection.isEmpty() && newSection.isEmpty()) {
+            return;
+        }
+        RecycleDiffer.calculateDiff(oldSection, newSection, callback, mDetectMoves)
+                .dispatchUpdatesTo(new RecycleDiffer.UpdateCallback() {
+                    @Override
+                    public void onInserted(int position, int count) {
+                        notifyItemRangeInserted(offset + position, count);
+                    }
+
+                    @Override
+                    public void onRemoved(int position, int count) {
+                        notifyItemRangeRemoved(offset + position, count);
+                    }
+
+                    @Override
+                    public void onMoved(int fromPosition, int toPosition) {
+                        notifyItemMoved(offset + fromPosition, offset + toPosition);
+                    }
+
+                    @Override
+                    public void onChanged(int position, int count, Object payload) {
+                        notifyItemRangeChanged(offset + position, count, payload);
+                    }
+                });
+    }
+
+    private void dispatchDataSetChanged() {
+        if (!isBatching()) {
+            notifyDataSetChanged();
+        }
+    }
+
+    private void dispatchItemRangeInserted(int positionStart, int itemCount) {
+        if (!isBatching()) {
+            notifyItemRangeInserted(positionStart, itemCount);
+        }
+    }
+
+    private void dispatchItemRangeRemoved(int positionStart, int itemCount) {
+        if (!isBatching()) {
+            notifyItemRangeRemoved(positionStart, itemCount);
+        }
+    }
+
+    /**
+     * append items from any thread, the changes of a frame are notified together on the main thread
+     *
+     * @param data items, must not be modified after they are passed in
+     */
+    public void postAppend(List<T> data) {
         if (null == data || data.isEmpty()) {
             return;
         }
+        postProducerOp(new ProducerOp<T>(PRODUCER_APPEND, data, null, null));
+    }
+
+    /**
+     * replace an item from any thread, the item with the same key, or an equal item without a key extractor, is replaced
+     *
+     * @param item    new item
+     * @param payload change payload, null for a full rebind
+     */
+    public void postUpdate(T item, Object payload) {
+        postProducerOp(new ProducerOp<T>(PRODUCER_UPDATE, null, item, payload));
+    }
+
+    /**
+     * remove an item from any thread, matched like {@link #postUpdate(Object, Object)}
+     *
+     * @param item item
+     */
+    public void postRemove(T item) {
+        postProducerOp(new ProducerOp<T>(PRODUCER_REMOVE, null, item, null));
+    }
+
+    private void postProducerOp(ProducerOp<T> op) {
+        mProducerOps.offer(op);
+        scheduleDrain();
+    }
+
+    private void scheduleDrain() {
+        if (mDrainScheduled.compareAndSet(false, true)) {
+            long delay = mLastDrainTime + DRAIN_INTERVAL - SystemClock.uptimeMillis();
+            RecycleExecutors.mainHandler().postDelayed(mDrainRunnable, delay > 0 ? delay : 0);
+        }
+    }
+
+    private void onDataNotified() {
+        invalidateSnapshot();
+        if (!mApplyingProducerOp) {
+            mProducerIndex = null;
+        }
+    }
+
+    private void invalidateSnapshot() {
+        mSnapshotDirty = true;
+    }
+
+    private void drainProducerOps() {
+        mLastDrainTime = SystemClock.uptimeMillis();
+        ProducerOp<T> op;
+        while (null != (op = mProducerOps.poll())) {
+            mApplyingProducerOp = true;
+            try {
+                applyProducerOp(op);
+            } finally {
+                mApplyingProducerOp = false;
+            }
+        }
+        if (mSnapshotRequested) {
+            mSnapshotRequested = false;
+            publishSnapshot();
+        }
+    }
+
+    /**
+     * applies an op with the ranged notification of its own positions, the list lays them out in the next frame
+     */
+    private void applyProducerOp(ProducerOp<T> op) {
+        //checked first, resolving the position would load every page
+        if (isPaged()) {
+            return;
+        }
+        flushPendingDiff();
+        if (op.type == PRODUCER_APPEND) {
+            int start = mData.size();
+            addData(op.items);
+            indexProducerItems(start);
+            if (mMode == RecycleMode.MODE_EMPTY && !mData.isEmpty()) {
+                changeMode(RecycleMode.MODE_DATA);
+            }
+            return;
+        }
+        int position = indexOfProducerItem(op.item);
+        if (position < 0) {
+            return;
+        }
+        if (op.type == PRODUCER_REMOVE) {
+            removeData(position, 1);
+            unindexProducerItem(op.item, position);
+        } else {
+            mData.set(position, op.item);
+            updateItem(position, op.payload);
+        }
+    }
+
+    private Object getProducerKey(T item) {
+        return null == mKeyExtractor ? item : Long.valueOf(mKeyExtractor.getItemKey(item));
+    }
+
+    private int indexOfProducerItem(T item) {
+        if (null == item) {
+            return -1;
+        }
+        Object key = getProducerKey(item);
+        if (null != mProducerIndex && mProducerIndexData == mData) {
+            Integer position = mProducerIndex.get(key);
+            if (null == position) {
+                return -1;
+            }
+            T current = position < mData.size() ? mData.get(position) : null;
+            if (null != current && key.equals(getProducerKey(current))) {
+                return position;
+            }
+        }
+        //the data changed without a notification, or was replaced, index it again
+        mProducerIndex = new HashMap<Object, Integer>();
+        mProducerIndexData = mData;
+        mProducerIndexHasDuplicates = false;
+        indexProducerItems(0);
+        Integer position = mProducerIndex.get(key);
+        return null == position ? -1 : position;
+    }
+
+    private void indexProducerItems(int start) {
+        if (null == mProducerIndex) {
+            return;
+        }
+        for (int i = start, size = mData.size(); i < size; i++) {
+            T item = mData.get(i);
+            if (null == item) {
+                continue;
+            }
+            Object key = getProducerKey(item);
+            //the first of equal keys is the one matched, like indexOf
+            if (mProducerIndex.containsKey(key)) {
+                mProducerIndexHasDuplicates = true;
+            } else {
+                mProducerIndex.put(key, i);
+            }
+        }
+    }
+
+    private void unindexProducerItem(T item, int position) {
+        if (null == mProducerIndex) {
+            return;
+        }
+        if (mProducerIndexHasDuplicates) {
+            //a later equal key takes over the removed position, rebuilt by the next lookup
+            mProducerIndex = null;
+            return;
+        }
+        mProducerIndex.remove(getProducerKey(item));
+        //the rows after the removed one moved up by one, as the list itself did
+        for (int i = position, size = mData.size(); i < size; i++) {
+            T current = mData.get(i);
+            if (null != current) {
+                mProducerIndex.put(getProducerKey(current), i);
+            }
+        }
+    }
+
+    private void publishSnapshot() {
+        if (!mSnapshotDirty && null != mSnapshot) {
+            return;
+        }
+        mSnapshotDirty = false;
+        mSnapshot = null == mPagedList ? Collections.unmodifiableList(new ArrayList<T>(mData))
+                : Collections.<T>emptyList();
+    }
+
+    public void addData(List<T> data) {
+        if (null == data || data.isEmpty() || isPaged()) {
+            return;
+        }
+        flushPendingDiff();
         int startPosition = mData.size() + mHeaders.size();
         this.mData.addAll(data);
-        this.notifyItemRangeInserted(startPosition, data.size());
+        dispatchItemRangeInserted(startPosition, data.size());
+    }
+
+    /**
+     * insert data in front of the current data, used to page backwards
+     *
+     * @param data data
+     */
+    public void prependData(List<T> data) {
+        if (null == data || data.isEmpty() || isPaged()) {
+            return;
+        }
+        flushPendingDiff();
+        this.mData.addAll(0, data);
+        dispatchItemRangeInserted(mHeaders.size(), data.size());
     }
 
+    /**
+     * remove a range of data, used to drop pages far away from the viewport
+     *
+     * @param position data position
+     * @param count    item count
+     */
+    public void removeData(int position, int count) {
+        if (isPaged()) {
+            return;
+        }
+        flushPendingDiff();
+        if (position < 0 || count <= 0 || position + count > mData.size()) {
+            Log.e(TAG, "error: can not remove " + count + " items at position " + position);
+            return;
+        }
+        this.mData.subList(position, position + count).clear();
+        dispatchItemRangeRemoved(mHeaders.size() + position, count);
+    }
+
+    /**
+     * @return immutable snapshot of the data, safe to keep and to read from any thread. on the main thread it is
+     * copied again after the data changed. off the main thread it is the copy published by the drain of the frame
+     * after the read, empty until the first one. a paged list is not copied, it would load every page, the main
+     * thread gets a read only view of it and the other threads an empty list
+     */
     public List<T> getData() {
-        return mData;
+        if (Looper.myLooper() == Looper.getMainLooper()) {
+            if (null != mPagedList) {
+                return Collections.unmodifiableList(mData);
+            }
+            publishSnapshot();
+            return mSnapshot;
+        }
+        List<T> snapshot = mSnapshot;
+        if (null == snapshot || mSnapshotDirty) {
+            mSnapshotRequested = true;
+            scheduleDrain();
+        }
+        return null == snapshot ? Collections.<T>emptyList() : snapshot;
+    }
+
+    /**
+     * @return number of data items, without copying the data
+     */
+    public int getDataCount() {
+        return mData.size();
     }
 
     public List<Object> getHeaders() {
@@ -112,12 +893,24 @@ public abstract class RecycleListAdapter<T> extends RecyclerView.Adapter {
         if (mode < 0 || mode > RecycleMode.MODE_EMPTY) {
             mode = 0;
         }
+        flushPendingDiff();
         mMode = mode;
-        this.notifyDataSetChanged();
+        dispatchDataSetChanged();
     }
 
     @Override
     public RecyclerView.ViewHolder onCreateViewHolder(ViewGroup parent, int viewType) {
+        RecycleAdapterMetrics metrics = mMetrics;
+        if (null == metrics) {
+            return createViewHolderForType(parent, viewType);
+        }
+        long start = System.nanoTime();
+        RecyclerView.ViewHolder holder = createViewHolderForType(parent, viewType);
+        metrics.recordCreate(viewType, System.nanoTime() - start);
+        return holder;
+    }
+
+    private RecyclerView.ViewHolder createViewHolderForType(ViewGroup parent, int viewType) {
         if (viewType == RecycleMode.MODE_LOADING) {
             RecyclerView.ViewHolder loadingViewHolder = onCreateLoadingViewHolder(parent);
             //because our toobar is ThemeOverlay, so we should minus toolbar height
@@ -132,128 +925,361 @@ public abstract class RecycleListAdapter<T> extends RecyclerView.Adapter {
             errorViewHolder.itemView.setLayoutParams(
                     new ViewGroup.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, parent.getHeight() - mToolBarHeight)
             );
-            errorViewHolder.itemView.setOnClickListener(new View.OnClickListener() {
-                @Override
-                public void onClick(final View v) {
-                    if (null != mOnErrorViewClickListener) {
-                        new Handler().postDelayed(new Runnable() {
-                            @Override
-                            public void run() {
-                                mOnErrorViewClickListener.onErrorViewClick(v);
-                            }
-                        }, 200);
+            errorViewHolder.itemView.setOnClickListener(new ClickDispatcher(CLICK_ERROR, errorViewHolder.itemView));
+            return errorViewHolder;
+        }
+        if (viewType == RecycleMode.MODE_EMPTY) {
+            RecyclerView.ViewHolder emptyViewHolder = onCreateEmptyViewHolder(parent);
+            //because our toobar is ThemeOverlay, so we should minus toolbar height
+            emptyViewHolder.itemView.setLayoutParams(
+                    new ViewGroup.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, parent.getHeight() - mToolBarHeight)
+            );
+            emptyViewHolder.itemView.setOnClickListener(new ClickDispatcher(CLICK_EMPTY, emptyViewHolder.itemView));
+            return emptyViewHolder;
+        }
+        RecyclerView.ViewHolder holder = mInflatePool.take(viewType);
+        if (null == holder) {
+            holder = createSectionViewHolder(parent, viewType);
+        }
+        bindClickListeners(holder, getViewTypeSection(viewType));
+        applyFullSpan(holder);
+        return holder;
+    }
+
+    @Override
+    public void onViewAttachedToWindow(RecyclerView.ViewHolder holder) {
+        super.onViewAttachedToWindow(holder);
+        //the list replaces layout params it does not know at its first layout, check them again
+        applyFullSpan(holder);
+    }
+
+    /**
+     * let headers, footers and state rows take every span of a staggered grid
+     */
+    private void applyFullSpan(RecyclerView.ViewHolder holder) {
+        ViewGroup.LayoutParams params = holder.itemView.getLayoutParams();
+        if (params instanceof StaggeredGridLayoutManager.LayoutParams) {
+            StaggeredGridLayoutManager.LayoutParams staggeredParams = (StaggeredGridLayoutManager.LayoutParams) params;
+            boolean fullSpan = isFullSpanViewType(holder.getItemViewType());
+            if (staggeredParams.isFullSpan() != fullSpan) {
+                staggeredParams.setFullSpan(fullSpan);
+            }
+        }
+    }
+
+    private boolean isFullSpanViewType(int viewType) {
+        if (viewType == RecycleMode.MODE_LOADING || viewType == RecycleMode.MODE_ERROR
+                || viewType == RecycleMode.MODE_EMPTY) {
+            return true;
+        }
+        return getViewTypeSection(viewType) != RecycleViewTypeRegistry.SECTION_DATA;
+    }
+
+    /**
+     * let headers, footers and state rows take every span of a grid, data rows keep the span size lookup set before.
+     * called when the adapter is attached, a list other than {@link AutoLoadMoreRecyclerView} has to call
+     * it again after changing its layout manager
+     *
+     * @param layoutManager layout manager of the list
+     */
+    void applyFullSpanLookup(RecyclerView.LayoutManager layoutManager) {
+        if (!(layoutManager instanceof GridLayoutManager)) {
+            return;
+        }
+        GridLayoutManager gridLayoutManager = (GridLayoutManager) layoutManager;
+        GridLayoutManager.SpanSizeLookup lookup = gridLayoutManager.getSpanSizeLookup();
+        if (lookup instanceof FullSpanLookup) {
+            FullSpanLookup fullSpanLookup = (FullSpanLookup) lookup;
+            if (fullSpanLookup.mAdapter == this) {
+                return;
+            }
+            lookup = fullSpanLookup.mDelegate;
+        }
+        FullSpanLookup fullSpanLookup = new FullSpanLookup(this, gridLayoutManager, lookup);
+        //section lookups are constant time, caching the span indexes saves walking the rows before a position
+        fullSpanLookup.setSpanIndexCacheEnabled(true);
+        gridLayoutManager.setSpanSizeLookup(fullSpanLookup);
+    }
+
+    private boolean isFullSpanPosition(int position) {
+        if (mMode != RecycleMode.MODE_DATA) {
+            return true;
+        }
+        return position < getDataStart() || position >= getFooterStart();
+    }
+
+    /**
+     * create a header, footer or data holder without listeners, it may be called on the inflater thread
+     */
+    private RecyclerView.ViewHolder createSectionViewHolder(ViewGroup parent, int viewType) {
+        if (viewType == RecycleMode.MODE_HEADER_VIEW) {
+            return onCreateHeaderViewHolder(parent);
+        }
+        if (viewType == RecycleMode.MODE_FOOTER_VIEW) {
+            return onCreateFooterViewHolder(parent);
+        }
+        RecycleViewTypeRegistry.Entry entry = mViewTypes.get(viewType);
+        if (null != entry) {
+            return entry.factory.onCreateViewHolder(parent);
+        }
+        return onCreateDataViewHolder(parent);
+    }
+
+    private int getViewTypeSection(int viewType) {
+        if (viewType == RecycleMode.MODE_HEADER_VIEW) {
+            return RecycleViewTypeRegistry.SECTION_HEADER;
+        }
+        if (viewType == RecycleMode.MODE_FOOTER_VIEW) {
+            return RecycleViewTypeRegistry.SECTION_FOOTER;
+        }
+        RecycleViewTypeRegistry.Entry entry = mViewTypes.get(viewType);
+        return null == entry ? RecycleViewTypeRegistry.SECTION_DATA : entry.section;
+    }
+
+    /**
+     * inflate holders of a view type on a background thread while the main thread is idle,
+     * onCreateViewHolder takes them before inflating on demand.
+     * the holder factory of the view type must not touch anything bound to the main thread,
+     * a type whose factory throws is inflated on demand
+     *
+     * @param viewType view type, {@link RecycleMode#MODE_DATA}, a header or footer mode or a registered factory type
+     * @param count    number of holders to inflate ahead, 0 to stop
+     */
+    public void setPreInflateCount(int viewType, int count) {
+        if (viewType == RecycleMode.MODE_LOADING || viewType == RecycleMode.MODE_ERROR
+                || viewType == RecycleMode.MODE_EMPTY) {
+            throw new IllegalArgumentException("state views can't be pre inflated");
+        }
+        mInflatePool.setTarget(viewType, count);
+    }
+
+    private void bindClickListeners(RecyclerView.ViewHolder holder, int section) {
+        if (section == RecycleViewTypeRegistry.SECTION_HEADER) {
+            holder.itemView.setOnClickListener(new ClickDispatcher(CLICK_HEADER, holder.itemView));
+        } else if (section == RecycleViewTypeRegistry.SECTION_FOOTER) {
+            holder.itemView.setOnClickListener(new ClickDispatcher(CLICK_FOOTER, holder.itemView));
+        } else {
+            holder.itemView.setOnClickListener(new ClickDispatcher(CLICK_DATA, holder.itemView));
+            holder.itemView.setOnLongClickListener(new ClickDispatcher(CLICK_DATA_LONG, holder.itemView));
+        }
+    }
+
+    @Override
+    public void onBindViewHolder(RecyclerView.ViewHolder holder, int position) {
+        RecycleAdapterMetrics metrics = mMetrics;
+        if (null == metrics) {
+            bindSectionViewHolder(holder, position);
+            return;
+        }
+        long start = System.nanoTime();
+        bindSectionViewHolder(holder, position);
+        long end = System.nanoTime();
+        metrics.recordBind(holder.getItemViewType(), end - start, end);
+    }
+
+    private void bindSectionViewHolder(RecyclerView.ViewHolder holder, int position) {
+        if (mMode == RecycleMode.MODE_LOADING) {
+            onBindLoadingViewHolder(holder, position);
+        } else if (mMode == RecycleMode.MODE_ERROR) {
+            onBindErrorViewHolder(holder, position);
+        } else if (mMode == RecycleMode.MODE_EMPTY) {
+            onBindEmptyViewHolder(holder, position);
+        } else {
+            int dataStart = getDataStart();
+            int footerStart = getFooterStart();
+            if (position < dataStart) {
+                if (!bindFactoryViewHolder(holder, mHeaders, position, null)) {
+                    onBindHeaderViewHolder(holder, position);
+                }
+            } else if (position >= footerStart) {
+                int footerPosition = position - footerStart;
+                if (!bindFactoryViewHolder(holder, mFooters, footerPosition, null)) {
+                    onBindFooterViewHolder(holder, footerPosition);
+                }
+            } else {
+                int dataPosition = position - dataStart;
+                if (null != mPagedList && null == mPagedList.get(dataPosition)) {
+                    onBindPlaceholderViewHolder(holder, dataPosition);
+                } else if (mFastFling) {
+                    mLiteBoundHolders.put(holder, Boolean.TRUE);
+                    if (!bindLiteFactoryViewHolder(holder, dataPosition)) {
+                        onBindLiteDataViewHolder(holder, dataPosition);
+                    }
+                } else {
+                    if (!mLiteBoundHolders.isEmpty()) {
+                        mLiteBoundHolders.remove(holder);
+                    }
+                    if (!bindFactoryViewHolder(holder, mData, dataPosition, null)) {
+                        onBindDataViewHolder(holder, dataPosition);
                     }
                 }
-            });
-            return errorViewHolder;
+            }
+        }
+    }
+
+    /**
+     * bind with payloads, a partial bind is routed to the payload hooks of the header, data and footer sections,
+     * an empty payload list falls back to the full bind
+     */
+    @Override
+    public void onBindViewHolder(RecyclerView.ViewHolder holder, int position, List payloads) {
+        if (null == payloads || payloads.isEmpty() || mMode != RecycleMode.MODE_DATA
+                || payloads.contains(PAYLOAD_FULL_BIND)
+                || (!mLiteBoundHolders.isEmpty() && mLiteBoundHolders.containsKey(holder))) {
+            //a partial bind can't complete a lite bind
+            onBindViewHolder(holder, position);
+            return;
+        }
+        RecycleAdapterMetrics metrics = mMetrics;
+        if (null == metrics) {
+            bindSectionViewHolder(holder, position, payloads);
+            return;
+        }
+        long start = System.nanoTime();
+        bindSectionViewHolder(holder, position, payloads);
+        long end = System.nanoTime();
+        metrics.recordBind(holder.getItemViewType(), end - start, end);
+    }
+
+    private void bindSectionViewHolder(RecyclerView.ViewHolder holder, int position, List<Object> payloads) {
+        int dataStart = getDataStart();
+        int footerStart = getFooterStart();
+        if (position < dataStart) {
+            if (!bindFactoryViewHolder(holder, mHeaders, position, payloads)) {
+                onBindHeaderViewHolder(holder, position, payloads);
+            }
+        } else if (position >= footerStart) {
+            int footerPosition = position - footerStart;
+            if (!bindFactoryViewHolder(holder, mFooters, footerPosition, payloads)) {
+                onBindFooterViewHolder(holder, footerPosition, payloads);
+            }
+        } else {
+            int dataPosition = position - dataStart;
+            if (null != mPagedList && null == mPagedList.get(dataPosition)) {
+                onBindPlaceholderViewHolder(holder, dataPosition);
+            } else if (!bindFactoryViewHolder(holder, mData, dataPosition, payloads)) {
+                onBindDataViewHolder(holder, dataPosition, payloads);
+            }
+        }
+    }
+
+    /**
+     * bind a holder created by a registered view factory
+     *
+     * @return false if the holder was created by the adapter itself
+     */
+    private boolean bindFactoryViewHolder(RecyclerView.ViewHolder holder, List<?> section, int position, List<Object> payloads) {
+        RecycleViewTypeRegistry.Entry entry = mViewTypes.get(holder.getItemViewType());
+        if (null == entry) {
+            return false;
+        }
+        if (null == payloads) {
+            entry.factory.onBindViewHolder(holder, section.get(position), position);
+        } else {
+            entry.factory.onBindViewHolder(holder, section.get(position), position, payloads);
+        }
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private boolean bindLiteFactoryViewHolder(RecyclerView.ViewHolder holder, int position) {
+        RecycleViewTypeRegistry.Entry entry = mViewTypes.get(holder.getItemViewType());
+        if (null == entry) {
+            return false;
+        }
+        ((RecycleViewFactory<T>) entry.factory).onBindLiteViewHolder(holder, mData.get(position), position);
+        return true;
+    }
+
+    /**
+     * bind data rows lite while the list flings faster than the velocity, for example skip images and
+     * text layout. the rows are rebound with {@link #PAYLOAD_FULL_BIND} once the list is idle
+     *
+     * @param liteBindVelocity fling velocity in pixels per second, 0 to always bind fully
+     */
+    public void setLiteBindVelocity(int liteBindVelocity) {
+        mLiteBindVelocity = liteBindVelocity < 0 ? 0 : liteBindVelocity;
+        if (mLiteBindVelocity == 0) {
+            mFastFling = false;
+        }
+    }
+
+    /**
+     * record create and bind counts and latencies per view type, turned off it costs a null check per create and bind
+     *
+     * @param metricsEnabled true to record, false drops the recorded metrics
+     */
+    public void setMetricsEnabled(boolean metricsEnabled) {
+        if (metricsEnabled == (null != mMetrics)) {
+            return;
+        }
+        mMetrics = metricsEnabled ? new RecycleAdapterMetrics() : null;
+    }
+
+    /**
+     * @return metrics with the snapshot and listener api, null when not enabled
+     */
+    public RecycleAdapterMetrics getMetrics() {
+        return mMetrics;
+    }
+
+    /**
+     * @return true while data rows are bound lite
+     */
+    public boolean isFastFling() {
+        return mFastFling;
+    }
+
+    /**
+     * a fling started, the binds of its first frame already follow its velocity
+     *
+     * @param velocity fling velocity along the scroll axis in pixels per second
+     */
+    void onFling(int velocity) {
+        mFastFling = mLiteBindVelocity > 0 && Math.abs(velocity) >= mLiteBindVelocity;
+        mLastScrolledTime = SystemClock.uptimeMillis();
+    }
+
+    private void setScrollState(int scrollState) {
+        mScrollState = scrollState;
+        isScrolling = scrollState != RecyclerView.SCROLL_STATE_IDLE;
+        if (scrollState != RecyclerView.SCROLL_STATE_SETTLING) {
+            mFastFling = false;
         }
-        if (viewType == RecycleMode.MODE_EMPTY) {
-            RecyclerView.ViewHolder emptyViewHolder = onCreateEmptyViewHolder(parent);
-            //because our toobar is ThemeOverlay, so we should minus toolbar height
-            emptyViewHolder.itemView.setLayoutParams(
-                    new ViewGroup.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, parent.getHeight() - mToolBarHeight)
-            );
-            emptyViewHolder.itemView.setOnClickListener(new View.OnClickListener() {
-                @Override
-                public void onClick(final View v) {
-                    if (null != mOnEmptyViewClickListener) {
-                        new Handler().postDelayed(new Runnable() {
-                            @Override
-                            public void run() {
-                                mOnEmptyViewClickListener.onEmptyViewClick(v);
-                            }
-                        }, 200);
-                    }
-                }
-            });
-            return emptyViewHolder;
+        if (scrollState == RecyclerView.SCROLL_STATE_IDLE) {
+            rebindLiteHolders();
         }
-        if (viewType == RecycleMode.MODE_HEADER_VIEW) {
-            RecyclerView.ViewHolder headerViewHolder = onCreateHeaderViewHolder(parent);
-            headerViewHolder.itemView.setOnClickListener(new View.OnClickListener() {
-                @Override
-                public void onClick(final View v) {
-                    if (null != mOnHeaderViewClickListener) {
-                        new Handler().postDelayed(new Runnable() {
-                            @Override
-                            public void run() {
-                                mOnHeaderViewClickListener.onHeaderViewClick(v, v.getTag());
-                            }
-                        }, 200);
-                    }
-                }
-            });
-            return headerViewHolder;
+    }
+
+    private void rebindLiteHolders() {
+        if (mLiteBoundHolders.isEmpty()) {
+            return;
         }
-        if (viewType == RecycleMode.MODE_FOOTER_VIEW) {
-            RecyclerView.ViewHolder footerViewHolder = onCreateFooterViewHolder(parent);
-            footerViewHolder.itemView.setOnClickListener(new View.OnClickListener() {
-                @Override
-                public void onClick(final View v) {
-                    if (null != mOnFooterViewClickListener) {
-                        new Handler().postDelayed(new Runnable() {
-                            @Override
-                            public void run() {
-                                mOnFooterViewClickListener.onFooterViewClick(v, v.getTag());
-                            }
-                        }, 200);
-                    }
-                }
-            });
-            return footerViewHolder;
+        if (isBatching()) {
+            //the shown positions are outdated until the batch is committed
+            mRebindLiteOnCommit = true;
+            return;
         }
-        RecyclerView.ViewHolder dataViewHolder = onCreateDataViewHolder(parent);
-        dataViewHolder.itemView.setOnClickListener(new View.OnClickListener() {
-            @Override
-            public void onClick(final View v) {
-                if (null != mOnItemClickListener) {
-                    new Handler().postDelayed(new Runnable() {
-                        @Override
-                        public void run() {
-                            mOnItemClickListener.onItemClick(v, v.getTag());
-                        }
-                    }, 200);
-                }
+        for (RecyclerView.ViewHolder holder : mLiteBoundHolders.keySet()) {
+            int position = holder.getAdapterPosition();
+            if (position != RecyclerView.NO_POSITION) {
+                notifyItemChanged(position, PAYLOAD_FULL_BIND);
             }
-        });
-        dataViewHolder.itemView.setOnLongClickListener(new View.OnLongClickListener() {
-            @Override
-            public boolean onLongClick(final View v) {
-                if (null != mOnItemLongClickListener) {
-                    new Handler().postDelayed(new Runnable() {
-                        @Override
-                        public void run() {
-                            mOnItemLongClickListener.onItemLongClick(v, v.getTag());
-                        }
-                    }, 200);
-                    return true;
-                }
-                return false;
-            }
-        });
-        return dataViewHolder;
+        }
+        mLiteBoundHolders.clear();
     }
 
     @Override
-    public void onBindViewHolder(RecyclerView.ViewHolder holder, int position) {
-        if (mMode == RecycleMode.MODE_LOADING) {
-            onBindLoadingViewHolder(holder, position);
-        } else if (mMode == RecycleMode.MODE_ERROR) {
-            onBindErrorViewHolder(holder, position);
-        } else if (mMode == RecycleMode.MODE_EMPTY) {
-            onBindEmptyViewHolder(holder, position);
-        } else {
-            if (position < mHeaders.size()) {
-                if (mHeaders.size() > 0) {
-                    onBindHeaderViewHolder(holder, position);
-                }
-            } else if (position >= mHeaders.size() + mData.size()) {
-                if (mFooters.size() > 0) {
-                    onBindFooterViewHolder(holder, position - mHeaders.size() - mData.size());
-                }
-            } else {
-                onBindDataViewHolder(holder, position - mHeaders.size());
-            }
+    public void onViewRecycled(RecyclerView.ViewHolder holder) {
+        super.onViewRecycled(holder);
+        if (!mLiteBoundHolders.isEmpty()) {
+            mLiteBoundHolders.remove(holder);
+        }
+        RecycleViewTypeRegistry.Entry entry = mViewTypes.get(holder.getItemViewType());
+        if (null != entry) {
+            entry.factory.onViewRecycled(holder);
+        } else if (getViewTypeSection(holder.getItemViewType()) == RecycleViewTypeRegistry.SECTION_DATA) {
+            onDataViewRecycled(holder);
         }
     }
 
@@ -278,14 +1304,185 @@ public abstract class RecycleListAdapter<T> extends RecyclerView.Adapter {
             return RecycleMode.MODE_EMPTY;
         }
         //check what type our position is, based on the assumption that the order is headers > items > footers
-        if (position < mHeaders.size()) {
-            return RecycleMode.MODE_HEADER_VIEW;
-        } else if (position >= mHeaders.size() + mData.size()) {
-            return RecycleMode.MODE_FOOTER_VIEW;
+        int dataStart = getDataStart();
+        int footerStart = getFooterStart();
+        if (position < dataStart) {
+            return getSectionViewType(mHeaderFactories, mHeaders.get(position), RecycleMode.MODE_HEADER_VIEW);
+        } else if (position >= footerStart) {
+            return getSectionViewType(mFooterFactories, mFooters.get(position - footerStart),
+                    RecycleMode.MODE_FOOTER_VIEW);
+        }
+        return getDataViewType(position - dataStart);
+    }
+
+    /**
+     * position of the first data row, read from the section sizes so direct changes to the lists are seen
+     */
+    private int getDataStart() {
+        return mHeaders.size();
+    }
+
+    /**
+     * position of the first footer row
+     */
+    private int getFooterStart() {
+        return mHeaders.size() + mData.size();
+    }
+
+    private static int getSectionViewType(Map<Object, RecycleViewTypeRegistry.Entry> factories, Object object,
+                                          int defaultViewType) {
+        if (factories.isEmpty()) {
+            return defaultViewType;
+        }
+        RecycleViewTypeRegistry.Entry entry = factories.get(object);
+        return null == entry ? defaultViewType : entry.viewType;
+    }
+
+    private int getDataViewType(int position) {
+        if (!mItemDelegates.isEmpty()) {
+            T item = mData.get(position);
+            for (int i = 0, size = mItemDelegates.size(); i < size; i++) {
+                RecycleViewTypeRegistry.Entry entry = mItemDelegates.get(i);
+                if (((RecycleItemDelegate<T>) entry.factory).isForItem(item, position)) {
+                    return entry.viewType;
+                }
+            }
         }
         return RecycleMode.MODE_DATA;
     }
 
+    /**
+     * register a data delegate with the default recycled pool size
+     *
+     * @param delegate delegate
+     * @return view type of the delegate
+     */
+    public int addItemDelegate(RecycleItemDelegate<T> delegate) {
+        return addItemDelegate(delegate, RecycleViewTypeRegistry.DEFAULT_MAX_RECYCLED_VIEWS);
+    }
+
+    /**
+     * register a data delegate, rows it claims get their own view type and recycled pool.
+     * register delegates before data is displayed, a row keeps its view type until it is rebound
+     *
+     * @param delegate         delegate
+     * @param maxRecycledViews recycled pool size of the delegate's view type
+     * @return view type of the delegate
+     */
+    public int addItemDelegate(RecycleItemDelegate<T> delegate, int maxRecycledViews) {
+        RecycleViewTypeRegistry.Entry entry = mViewTypes.register(delegate, RecycleViewTypeRegistry.SECTION_DATA,
+                maxRecycledViews);
+        if (!mItemDelegates.contains(entry)) {
+            mItemDelegates.add(entry);
+        }
+        if (null != mRecyclerView) {
+            mViewTypes.applyMaxRecycledViews(mRecyclerView.getRecycledViewPool());
+        }
+        return entry.viewType;
+    }
+
+    /**
+     * set the recycled pool size of a header or footer view factory
+     *
+     * @param factory          factory passed to addHeader or addFooter
+     * @param maxRecycledViews recycled pool size
+     */
+    public void setMaxRecycledViews(RecycleViewFactory<?> factory, int maxRecycledViews) {
+        RecycleViewTypeRegistry.Entry header = mViewTypes.find(factory, RecycleViewTypeRegistry.SECTION_HEADER);
+        if (null != header) {
+            header.maxRecycledViews = maxRecycledViews;
+        }
+        RecycleViewTypeRegistry.Entry footer = mViewTypes.find(factory, RecycleViewTypeRegistry.SECTION_FOOTER);
+        if (null != footer) {
+            footer.maxRecycledViews = maxRecycledViews;
+        }
+        if (null != mRecyclerView) {
+            mViewTypes.applyMaxRecycledViews(mRecyclerView.getRecycledViewPool());
+        }
+    }
+
+    private RecycleViewTypeRegistry.Entry registerFactory(RecycleViewFactory<?> factory, int section) {
+        RecycleViewTypeRegistry.Entry entry = mViewTypes.register(factory, section,
+                RecycleViewTypeRegistry.DEFAULT_MAX_RECYCLED_VIEWS);
+        if (null != mRecyclerView) {
+            mViewTypes.applyMaxRecycledViews(mRecyclerView.getRecycledViewPool());
+        }
+        return entry;
+    }
+
+    @Override
+    public void onAttachedToRecyclerView(RecyclerView recyclerView) {
+        super.onAttachedToRecyclerView(recyclerView);
+        mRecyclerView = recyclerView;
+        mViewTypes.applyMaxRecycledViews(recyclerView.getRecycledViewPool());
+        mInflatePool.start(recyclerView);
+        applyFullSpanLookup(recyclerView.getLayoutManager());
+        recyclerView.addOnScrollListener(mScrollStateListener);
+        setScrollState(recyclerView.getScrollState());
+    }
+
+    /**
+     * apply the per type pool sizes again, when the list switched to another recycled pool
+     *
+     * @param pool recycled view pool
+     */
+    void applyMaxRecycledViews(RecyclerView.RecycledViewPool pool) {
+        mViewTypes.applyMaxRecycledViews(pool);
+    }
+
+    @Override
+    public void onDetachedFromRecyclerView(RecyclerView recyclerView) {
+        super.onDetachedFromRecyclerView(recyclerView);
+        mRecyclerView = null;
+        mInflatePool.stop();
+        recyclerView.removeOnScrollListener(mScrollStateListener);
+        setScrollState(RecyclerView.SCROLL_STATE_IDLE);
+        mLiteBoundHolders.clear();
+    }
+
+    @Override
+    public long getItemId(int position) {
+        if (!hasStableIds()) {
+            return RecyclerView.NO_ID;
+        }
+        if (mMode != RecycleMode.MODE_DATA) {
+            return makeItemId(ID_SECTION_STATE, mMode);
+        }
+        int dataStart = getDataStart();
+        int footerStart = getFooterStart();
+        if (position < dataStart) {
+            return makeItemId(ID_SECTION_HEADER, obtainSectionId(mHeaderIds, mHeaders.get(position)));
+        } else if (position >= footerStart) {
+            return makeItemId(ID_SECTION_FOOTER,
+                    obtainSectionId(mFooterIds, mFooters.get(position - footerStart)));
+        }
+        T item = mData.get(position - dataStart);
+        if (null == item && null != mPagedList) {
+            //placeholders are keyed by position, outside the range of the state rows
+            return makeItemId(ID_SECTION_STATE, (1L << 32) + position - dataStart);
+        }
+        return makeItemId(ID_SECTION_DATA, mKeyExtractor.getItemKey(item));
+    }
+
+    private static long makeItemId(long section, long value) {
+        //finalizer of murmur3, every input bit reaches every output bit
+        long id = value ^ section;
+        id = (id ^ (id >>> 33)) * 0xff51afd7ed558ccdL;
+        id = (id ^ (id >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        id ^= id >>> 33;
+        //NO_ID tells the list the row has no id, the one value mixing to it gets its neighbour
+        return id == RecyclerView.NO_ID ? id - 1 : id;
+    }
+
+    private long obtainSectionId(Map<Object, Long> ids, Object object) {
+        Long id = ids.get(object);
+        if (null == id) {
+            id = mNextSectionId++;
+            ids.put(object, id);
+        }
+        return id;
+    }
+
     public abstract RecyclerView.ViewHolder onCreateDataViewHolder(ViewGroup parent);
 
     public RecyclerView.ViewHolder onCreateLoadingViewHolder(ViewGroup parent) {
@@ -308,6 +1505,47 @@ public abstract class RecycleListAdapter<T> extends RecyclerView.Adapter {
 
     public abstract void onBindDataViewHolder(RecyclerView.ViewHolder holder, int position);
 
+    /**
+     * bind only the views affected by the payloads, override it to skip the full data bind
+     *
+     * @param holder   holder
+     * @param position data position
+     * @param payloads payloads passed to {@link #updateItem(int, Object)} or notifyItemChanged, never empty
+     */
+    public void onBindDataViewHolder(RecyclerView.ViewHolder holder, int position, List<Object> payloads) {
+        onBindDataViewHolder(holder, position);
+    }
+
+    /**
+     * bind a row of a paged list whose page is still loading, the row is rebound once the page arrives.
+     * the default binds the data holder, so onBindDataViewHolder has to handle a null item
+     *
+     * @param holder   holder
+     * @param position data position
+     */
+    public void onBindPlaceholderViewHolder(RecyclerView.ViewHolder holder, int position) {
+        onBindDataViewHolder(holder, position);
+    }
+
+    /**
+     * bind a data row during a fast fling, only the cheap views, see {@link #setLiteBindVelocity(int)}.
+     * the default binds fully
+     *
+     * @param holder   holder
+     * @param position data position
+     */
+    public void onBindLiteDataViewHolder(RecyclerView.ViewHolder holder, int position) {
+        onBindDataViewHolder(holder, position);
+    }
+
+    /**
+     * a data holder of the adapter is recycled, cancel its pending async work such as image loads
+     *
+     * @param holder holder
+     */
+    public void onDataViewRecycled(RecyclerView.ViewHolder holder) {
+    }
+
     public void onBindLoadingViewHolder(RecyclerView.ViewHolder holder, int position) {
     }
 
@@ -320,9 +1558,82 @@ public abstract class RecycleListAdapter<T> extends RecyclerView.Adapter {
     public void onBindHeaderViewHolder(RecyclerView.ViewHolder holder, int position) {
     }
 
+    /**
+     * bind only the header views affected by the payloads
+     *
+     * @param holder   holder
+     * @param position header position
+     * @param payloads payloads, never empty
+     */
+    public void onBindHeaderViewHolder(RecyclerView.ViewHolder holder, int position, List<Object> payloads) {
+        onBindHeaderViewHolder(holder, position);
+    }
+
     public void onBindFooterViewHolder(RecyclerView.ViewHolder holder, int position) {
     }
 
+    /**
+     * bind only the footer views affected by the payloads
+     *
+     * @param holder   holder
+     * @param position footer position
+     * @param payloads payloads, never empty
+     */
+    public void onBindFooterViewHolder(RecyclerView.ViewHolder holder, int position, List<Object> payloads) {
+        onBindFooterViewHolder(holder, position);
+    }
+
+    /**
+     * notify a field level change of a data item, the row is rebound through
+     * {@link #onBindDataViewHolder(RecyclerView.ViewHolder, int, List)}
+     *
+     * @param position data position
+     * @param payload  payload describing the change, null for a full rebind
+     */
+    public void updateItem(int position, Object payload) {
+        flushPendingDiff();
+        if (mMode != RecycleMode.MODE_DATA || position < 0 || position >= mData.size()) {
+            Log.e(TAG, "error: no data item at position " + position);
+            return;
+        }
+        if (isBatching()) {
+            //the position may move before the batch is committed, the change follows the item
+            mBatchChanges.put(mData.get(position), payload);
+            return;
+        }
+        notifyItemChanged(mHeaders.size() + position, payload);
+    }
+
+    /**
+     * told before {@link #setData(List, int)} replaces the data set, pages loading for the old data are stale
+     */
+    interface OnDataResetListener {
+        void onDataReset();
+    }
+
+    void setOnDataResetListener(OnDataResetListener onDataResetListener) {
+        mOnDataResetListener = onDataResetListener;
+    }
+
+    /**
+     * notify a change of a footer, the row is rebound through its factory or
+     * {@link #onBindFooterViewHolder(RecyclerView.ViewHolder, int, List)}
+     *
+     * @param footer  footer
+     * @param payload payload describing the change, null for a full rebind
+     */
+    public void updateFooter(Object footer, Object payload) {
+        int position = mFooters.indexOf(footer);
+        if (mMode != RecycleMode.MODE_DATA || position < 0) {
+            return;
+        }
+        if (isBatching()) {
+            mBatchChanges.put(footer, payload);
+            return;
+        }
+        notifyItemChanged(mHeaders.size() + mData.size() + position, payload);
+    }
+
     public void setOnFooterViewClickListener(RecycleListenerInterface.OnFooterViewClickListener onFooterViewClickListener) {
         mOnFooterViewClickListener = onFooterViewClickListener;
     }
@@ -347,6 +1658,15 @@ public abstract class RecycleListAdapter<T> extends RecyclerView.Adapter {
         mOnHeaderViewClickListener = onHeaderViewClickListener;
     }
 
+    /**
+     * set the delay before click listeners are called
+     *
+     * @param clickDelay delay in milliseconds, 0 to call the listeners at once
+     */
+    public void setClickDelay(long clickDelay) {
+        mClickDelay = clickDelay < 0 ? 0 : clickDelay;
+    }
+
     public void setToolBarHeight(int toolBarHeight) {
         mToolBarHeight = toolBarHeight;
         this.notifyDataSetChanged();
@@ -367,14 +1687,52 @@ public abstract class RecycleListAdapter<T> extends RecyclerView.Adapter {
      * @param header header
      */
     public void addHeader(Object header) {
+        addHeader(header, null);
+    }
+
+    /**
+     * add a header created and bound by its own view factory, every factory gets its own view type and recycled pool
+     *
+     * @param header  header
+     * @param factory view factory, null to use {@link #onCreateHeaderViewHolder(ViewGroup)}
+     */
+    public void addHeader(Object header, RecycleViewFactory<?> factory) {
+        addHeader(mHeaders.size(), header, factory);
+    }
+
+    /**
+     * insert a header in front of the header at the position
+     *
+     * @param position position among the headers
+     * @param header   header
+     */
+    public void addHeader(int position, Object header) {
+        addHeader(position, header, null);
+    }
+
+    /**
+     * insert a header created and bound by its own view factory in front of the header at the position
+     *
+     * @param position position among the headers
+     * @param header   header
+     * @param factory  view factory, null to use {@link #onCreateHeaderViewHolder(ViewGroup)}
+     */
+    public void addHeader(int position, Object header, RecycleViewFactory<?> factory) {
         if (mMode != RecycleMode.MODE_DATA) {
             Log.e(TAG, "error: you can not add header or footer while you are not in data mode");
             return;
         }
-        if (!mHeaders.contains(header)) {
-            mHeaders.add(header);
+        if (position < 0 || position > mHeaders.size()) {
+            Log.e(TAG, "error: can not add a header at position " + position);
+            return;
+        }
+        if (mHeaders.indexOf(header) < 0) {
+            if (null != factory) {
+                mHeaderFactories.put(header, registerFactory(factory, RecycleViewTypeRegistry.SECTION_HEADER));
+            }
+            mHeaders.add(position, header);
             //animate
-            notifyItemInserted(mHeaders.size() - 1);
+            dispatchItemRangeInserted(position, 1);
         }
     }
 
@@ -384,11 +1742,13 @@ public abstract class RecycleListAdapter<T> extends RecyclerView.Adapter {
      * @param header header
      */
     public void removeHeader(Object header) {
-        if (mHeaders.contains(header)) {
-            int position = mHeaders.indexOf(header);
-            mHeaders.remove(position);
+        int position = mHeaders.indexOf(header);
+        if (position >= 0) {
+            Object removed = mHeaders.remove(position);
+            mHeaderIds.remove(removed);
+            mHeaderFactories.remove(removed);
             //animate
-            notifyItemRemoved(position);
+            dispatchItemRangeRemoved(position, 1);
         }
     }
 
@@ -399,8 +1759,10 @@ public abstract class RecycleListAdapter<T> extends RecyclerView.Adapter {
      */
     public void removeHeader(int position) {
         if (mHeaders.size() > 0 && position < mHeaders.size()) {
-            mHeaders.remove(position);
-            notifyItemRemoved(position);
+            Object removed = mHeaders.remove(position);
+            mHeaderIds.remove(removed);
+            mHeaderFactories.remove(removed);
+            dispatchItemRangeRemoved(position, 1);
         }
     }
 
@@ -408,10 +1770,12 @@ public abstract class RecycleListAdapter<T> extends RecyclerView.Adapter {
      * remove all headers
      */
     public void removeAllHeader() {
-        if (mHeaders.size() > 0) {
-            notifyItemRangeRemoved(0, mHeaders.size());
+        int count = mHeaders.size();
+        if (count > 0) {
             mHeaders.clear();
-            notifyDataSetChanged();
+            mHeaderIds.clear();
+            mHeaderFactories.clear();
+            dispatchItemRangeRemoved(0, count);
         }
     }
 
@@ -421,14 +1785,27 @@ public abstract class RecycleListAdapter<T> extends RecyclerView.Adapter {
      * @param footer footer
      */
     public void addFooter(Object footer) {
+        addFooter(footer, null);
+    }
+
+    /**
+     * add a footer created and bound by its own view factory, every factory gets its own view type and recycled pool
+     *
+     * @param footer  footer
+     * @param factory view factory, null to use {@link #onCreateFooterViewHolder(ViewGroup)}
+     */
+    public void addFooter(Object footer, RecycleViewFactory<?> factory) {
         if (mMode != RecycleMode.MODE_DATA) {
             Log.e(TAG, "error: you can not add header or footer while you are not in data mode");
             return;
         }
-        if (!mFooters.contains(footer)) {
+        if (mFooters.indexOf(footer) < 0) {
+            if (null != factory) {
+                mFooterFactories.put(footer, registerFactory(factory, RecycleViewTypeRegistry.SECTION_FOOTER));
+            }
             mFooters.add(footer);
             //animate
-            notifyItemInserted(mHeaders.size() + mData.size() + mFooters.size() - 1);
+            dispatchItemRangeInserted(mHeaders.size() + mData.size() + mFooters.size() - 1, 1);
         }
     }
 
@@ -438,11 +1815,13 @@ public abstract class RecycleListAdapter<T> extends RecyclerView.Adapter {
      * @param footer footer view
      */
     public void removeFooter(Object footer) {
-        if (mFooters.contains(footer)) {
-            int position = mFooters.indexOf(footer);
-            mFooters.remove(position);
+        int position = mFooters.indexOf(footer);
+        if (position >= 0) {
+            Object removed = mFooters.remove(position);
+            mFooterIds.remove(removed);
+            mFooterFactories.remove(removed);
             //animate
-            notifyItemRemoved(mHeaders.size() + mData.size() + position);
+            dispatchItemRangeRemoved(mHeaders.size() + mData.size() + position, 1);
         }
     }
 
@@ -453,9 +1832,11 @@ public abstract class RecycleListAdapter<T> extends RecyclerView.Adapter {
      */
     public void removeFooter(int position) {
         if (mFooters.size() > 0 && position < mFooters.size()) {
-            mFooters.remove(position);
+            Object removed = mFooters.remove(position);
+            mFooterIds.remove(removed);
+            mFooterFactories.remove(removed);
             //animate
-            notifyItemRemoved(mHeaders.size() + mData.size() + position);
+            dispatchItemRangeRemoved(mHeaders.size() + mData.size() + position, 1);
         }
     }
 
@@ -463,11 +1844,171 @@ public abstract class RecycleListAdapter<T> extends RecyclerView.Adapter {
      * remove all footers
      */
     public void removeAllFooters() {
-        if (mFooters.size() > 0) {
-            notifyItemRangeChanged(0, mFooters.size());
+        int count = mFooters.size();
+        if (count > 0) {
             mFooters.clear();
-            notifyDataSetChanged();
+            mFooterIds.clear();
+            mFooterFactories.clear();
+            dispatchItemRangeRemoved(mHeaders.size() + mData.size(), count);
+        }
+    }
+
+    private static final class ProducerOp<T> {
+        final int type;
+        final List<T> items;
+        final T item;
+        final Object payload;
+
+        ProducerOp(int type, List<T> items, T item, Object payload) {
+            this.type = type;
+            this.items = items;
+            this.item = item;
+            this.payload = payload;
+        }
+    }
+
+    /**
+     * diffs rows with equals, an equal row is never rebound
+     */
+    private static final class EqualsDiffCallback<E> extends RecycleDiffCallback<E> {
+        @Override
+        public boolean areItemsTheSame(E oldItem, E newItem) {
+            return null == oldItem ? null == newItem : oldItem.equals(newItem);
+        }
+
+        @Override
+        public boolean areContentsTheSame(E oldItem, E newItem) {
+            return true;
+        }
+    }
+
+    /**
+     * diffs rows by their stable key and compares contents with equals
+     */
+    private static final class KeyDiffCallback<T> extends RecycleDiffCallback<T> {
+        private final RecycleKeyExtractor<T> mKeyExtractor;
+
+        KeyDiffCallback(RecycleKeyExtractor<T> keyExtractor) {
+            mKeyExtractor = keyExtractor;
+        }
+
+        @Override
+        public boolean areItemsTheSame(T oldItem, T newItem) {
+            return mKeyExtractor.getItemKey(oldItem) == mKeyExtractor.getItemKey(newItem);
+        }
+
+        @Override
+        public boolean areContentsTheSame(T oldItem, T newItem) {
+            return null == oldItem ? null == newItem : oldItem.equals(newItem);
         }
     }
-}
 
+    /**
+     * one dispatcher per holder view, it is both the listener and the delayed runnable,
+     * so a click only posts to the shared main handler and allocates nothing
+     */
+    private final class ClickDispatcher implements View.OnClickListener, View.OnLongClickListener, Runnable {
+        private final int mType;
+        private final View mView;
+
+        ClickDispatcher(int type, View view) {
+            mType = type;
+            mView = view;
+        }
+
+        @Override
+        public void onClick(View v) {
+            if (hasListener()) {
+                dispatch();
+            }
+        }
+
+        @Override
+        public boolean onLongClick(View v) {
+            if (hasListener()) {
+                dispatch();
+                return true;
+            }
+            return false;
+        }
+
+        private void dispatch() {
+            if (mClickDelay <= 0) {
+                run();
+            } else {
+                RecycleExecutors.mainHandler().postDelayed(this, mClickDelay);
+            }
+        }
+
+        private boolean hasListener() {
+            switch (mType) {
+                case CLICK_DATA:
+                    return null != mOnItemClickListener;
+                case CLICK_DATA_LONG:
+                    return null != mOnItemLongClickListener;
+                case CLICK_HEADER:
+                    return null != mOnHeaderViewClickListener;
+                case CLICK_FOOTER:
+                    return null != mOnFooterViewClickListener;
+                case CLICK_EMPTY:
+                    return null != mOnEmptyViewClickListener;
+                case CLICK_ERROR:
+                    return null != mOnErrorViewClickListener;
+                default:
+                    return false;
+            }
+        }
+
+        @Override
+        public void run() {
+            //the listener may have been cleared while the click was delayed
+            if (!hasListener()) {
+                return;
+            }
+            switch (mType) {
+                case CLICK_DATA:
+                    mOnItemClickListener.onItemClick(mView, mView.getTag());
+                    break;
+                case CLICK_DATA_LONG:
+                    mOnItemLongClickListener.onItemLongClick(mView, mView.getTag());
+                    break;
+                case CLICK_HEADER:
+                    mOnHeaderViewClickListener.onHeaderViewClick(mView, mView.getTag());
+                    break;
+                case CLICK_FOOTER:
+                    mOnFooterViewClickListener.onFooterViewClick(mView, mView.getTag());
+                    break;
+                case CLICK_EMPTY:
+                    mOnEmptyViewClickListener.onEmptyViewClick(mView);
+                    break;
+                case CLICK_ERROR:
+                    mOnErrorViewClickListener.onErrorViewClick(mView);
+                    break;
+            }
+        }
+    }
+
+    /**
+     * full span for headers, footers and state rows, the previous lookup for data rows
+     */
+    private static final class FullSpanLookup extends GridLayoutManager.SpanSizeLookup {
+        final RecycleListAdapter<?> mAdapter;
+        final GridLayoutManager mLayoutManager;
+        final GridLayoutManager.SpanSizeLookup mDelegate;
+
+        FullSpanLookup(RecycleListAdapter<?> adapter, GridLayoutManager layoutManager,
+                       GridLayoutManager.SpanSizeLookup delegate) {
+            mAdapter = adapter;
+            mLayoutManager = layoutManager;
+            mDelegate = delegate;
+        }
+
+        @Override
+        public int getSpanSize(int position) {
+            if (mAdapter.isFullSpanPosition(position)) {
+                return mLayoutManager.getSpanCount();
+            }
+            return mDelegate.getSpanSize(position);
+        }
+    }
+}
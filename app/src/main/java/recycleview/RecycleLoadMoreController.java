@@ -0,0 +1,259 @@
+package recycleview;
+
+import android.support.v7.widget.RecyclerView;
+import android.view.Gravity;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.TextView;
+
+import com.liangren.lrrecycleview.R;
+
+/**
+ * @author yuanzheng
+ * tracks the next page of {@link AutoLoadMoreRecyclerView}. a page is keyed by the position of its first item,
+ * one page is in flight at a time, so scroll frames never request it twice.
+ * a failed page is retried after an exponentially growing delay, once the automatic retries are used up
+ * it waits for the retry footer to be tapped. resetting the list cancels the page in flight.
+ * the controller itself is the load state footer of the adapter. must be used on the main thread
+ */
+public class RecycleLoadMoreController {
+
+    public static final int NO_PAGE = -1;
+    public static final int STATE_IDLE = 0;
+    public static final int STATE_LOADING = 1;
+    public static final int STATE_FAILED = 2;
+    private static final long DEFAULT_INITIAL_BACKOFF = 1000;
+    private static final long DEFAULT_MAX_BACKOFF = 30 * 1000;
+    private static final int DEFAULT_MAX_AUTO_RETRIES = 3;
+
+    /**
+     * loads pages by key
+     */
+    public interface PageListener {
+        /**
+         * load the page starting at the page key, add it to the adapter and call
+         * {@link AutoLoadMoreRecyclerView#loadMoreComplete(int)},
+         * or call {@link AutoLoadMoreRecyclerView#loadMoreFailed(int)}
+         *
+         * @param pageKey position of the first item of the page in the whole list
+         */
+        void onLoadPage(int pageKey);
+
+        /**
+         * the list was reset while the page was loading, its result is ignored
+         *
+         * @param pageKey page key
+         */
+        void onCancelPage(int pageKey);
+    }
+
+    /**
+     * told when the state changes, so the footer can be rebound
+     */
+    interface OnStateChangedListener {
+        void onStateChanged(RecycleLoadMoreController controller);
+    }
+
+    private final View mHost;
+    private PageListener mPageListener;
+    private final OnStateChangedListener mOnStateChangedListener;
+    private RecycleViewFactory<RecycleLoadMoreController> mFooterFactory = new DefaultFooterFactory();
+    private int mState = STATE_IDLE;
+    private int mPageKey = NO_PAGE;
+    private int mFailureCount;
+    private long mInitialBackoff = DEFAULT_INITIAL_BACKOFF;
+    private long mMaxBackoff = DEFAULT_MAX_BACKOFF;
+    private int mMaxAutoRetries = DEFAULT_MAX_AUTO_RETRIES;
+
+    private final Runnable mRetryRunnable = new Runnable() {
+        @Override
+        public void run() {
+            retry();
+        }
+    };
+
+    private final View.OnClickListener mRetryClickListener = new View.OnClickListener() {
+        @Override
+        public void onClick(View v) {
+            retry();
+        }
+    };
+
+    RecycleLoadMoreController(View host, OnStateChangedListener onStateChangedListener) {
+        mHost = host;
+        mOnStateChangedListener = onStateChangedListener;
+    }
+
+    /**
+     * @param initialBackoff delay before the first automatic retry in milliseconds, doubled on every failure
+     * @param maxBackoff     max delay between retries in milliseconds
+     * @param maxAutoRetries number of automatic retries of a page, 0 to only retry when the footer is tapped
+     */
+    public void setBackoff(long initialBackoff, long maxBackoff, int maxAutoRetries) {
+        mInitialBackoff = initialBackoff < 0 ? 0 : initialBackoff;
+        mMaxBackoff = Math.max(mInitialBackoff, maxBackoff);
+        mMaxAutoRetries = maxAutoRetries < 0 ? 0 : maxAutoRetries;
+    }
+
+    /**
+     * replace the load state footer, the factory binds the controller and calls {@link #retry()} when tapped
+     *
+     * @param footerFactory footer factory
+     */
+    public void setFooterFactory(RecycleViewFactory<RecycleLoadMoreController> footerFactory) {
+        mFooterFactory = null == footerFactory ? new DefaultFooterFactory() : footerFactory;
+    }
+
+    public RecycleViewFactory<RecycleLoadMoreController> getFooterFactory() {
+        return mFooterFactory;
+    }
+
+    /**
+     * @return {@link #STATE_IDLE}, {@link #STATE_LOADING} or {@link #STATE_FAILED}
+     */
+    public int getState() {
+        return mState;
+    }
+
+    /**
+     * @return key of the page loading or failed, {@link #NO_PAGE} while idle
+     */
+    public int getPageKey() {
+        return mPageKey;
+    }
+
+    /**
+     * @return number of failures of the current page
+     */
+    public int getFailureCount() {
+        return mFailureCount;
+    }
+
+    /**
+     * load the failed page again now
+     */
+    public void retry() {
+        if (mState != STATE_FAILED) {
+            return;
+        }
+        mHost.removeCallbacks(mRetryRunnable);
+        load(mPageKey);
+    }
+
+    void setPageListener(PageListener pageListener) {
+        mPageListener = pageListener;
+    }
+
+    /**
+     * request a page, ignored while a page is loading or failed, failed pages are retried by backoff or by tap
+     *
+     * @param pageKey page key
+     * @return true if the page was requested
+     */
+    boolean request(int pageKey) {
+        if (mState != STATE_IDLE || null == mPageListener) {
+            return false;
+        }
+        mFailureCount = 0;
+        load(pageKey);
+        return true;
+    }
+
+    /**
+     * @param pageKey page key, {@link #NO_PAGE} for the page in flight
+     * @return false if the page is not in flight, it was cancelled or reported already
+     */
+    boolean complete(int pageKey) {
+        if (!isInFlight(pageKey)) {
+            return false;
+        }
+        mFailureCount = 0;
+        mPageKey = NO_PAGE;
+        setState(STATE_IDLE);
+        return true;
+    }
+
+    /**
+     * @param pageKey page key, {@link #NO_PAGE} for the page in flight
+     * @return false if the page is not in flight, it was cancelled or reported already
+     */
+    boolean fail(int pageKey) {
+        if (!isInFlight(pageKey)) {
+            return false;
+        }
+        mFailureCount++;
+        setState(STATE_FAILED);
+        if (mFailureCount <= mMaxAutoRetries) {
+            int shift = Math.min(mFailureCount - 1, 30);
+            mHost.postDelayed(mRetryRunnable, Math.min(mMaxBackoff, mInitialBackoff << shift));
+        }
+        return true;
+    }
+
+    /**
+     * drop the page in flight or waiting for a retry, its result is ignored
+     */
+    void cancel() {
+        mHost.removeCallbacks(mRetryRunnable);
+        if (mState == STATE_IDLE) {
+            return;
+        }
+        int pageKey = mPageKey;
+        boolean loading = mState == STATE_LOADING;
+        mPageKey = NO_PAGE;
+        mFailureCount = 0;
+        setState(STATE_IDLE);
+        if (loading && null != mPageListener) {
+            mPageListener.onCancelPage(pageKey);
+        }
+    }
+
+    private boolean isInFlight(int pageKey) {
+        return mState == STATE_LOADING && (pageKey == NO_PAGE || pageKey == mPageKey);
+    }
+
+    private void load(int pageKey) {
+        mPageKey = pageKey;
+        setState(STATE_LOADING);
+        if (null != mPageListener) {
+            mPageListener.onLoadPage(pageKey);
+        }
+    }
+
+    private void setState(int state) {
+        if (mState == state) {
+            return;
+        }
+        mState = state;
+        if (null != mOnStateChangedListener) {
+            mOnStateChangedListener.onStateChanged(this);
+        }
+    }
+
+    /**
+     * a centered text, tap it to retry a failed page
+     */
+    private static final class DefaultFooterFactory extends RecycleViewFactory<RecycleLoadMoreController> {
+
+        @Override
+        public RecyclerView.ViewHolder onCreateViewHolder(ViewGroup parent) {
+            TextView textView = new TextView(parent.getContext());
+            int padding = (int) (16 * parent.getResources().getDisplayMetrics().density);
+            textView.setPadding(padding, padding, padding, padding);
+            textView.setGravity(Gravity.CENTER);
+            textView.setLayoutParams(new RecyclerView.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT,
+                    ViewGroup.LayoutParams.WRAP_CONTENT));
+            return new DefaultSimpleViewHolder(textView);
+        }
+
+        @Override
+        public void onBindViewHolder(RecyclerView.ViewHolder holder, RecycleLoadMoreController controller,
+                                     int position) {
+            boolean failed = controller.getState() == STATE_FAILED;
+            ((TextView) holder.itemView).setText(failed ? R.string.load_more_retry : R.string.loading);
+            //the load state row is not an app footer, it replaces the footer click listener of the adapter
+            holder.itemView.setOnClickListener(failed ? controller.mRetryClickListener : null);
+            holder.itemView.setClickable(failed);
+        }
+    }
+}
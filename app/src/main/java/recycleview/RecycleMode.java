@@ -7,4 +7,14 @@ public class RecycleMode {
             MODE_EMPTY = 1003,
             MODE_HEADER_VIEW = 1004,
             MODE_FOOTER_VIEW = 1005;
+
+    /**
+     * view types of registered view factories start here, so they never collide with the modes above
+     */
+    public static final int VIEW_TYPE_FIRST_CUSTOM = 2000;
+
+    /**
+     * view types pinned by view factories start here, above the ones handed out by the adapter
+     */
+    public static final int VIEW_TYPE_FIRST_STABLE = 0x100000;
 }
@@ -0,0 +1,244 @@
+package recycleview;
+
+import android.util.SparseArray;
+import android.util.SparseBooleanArray;
+import android.util.SparseIntArray;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+/**
+ * @author yuanzheng
+ * a read only list of fixed size pages that are loaded on demand on a background thread, a failed page is
+ * loaded again after a backoff while it is near the accessed position.
+ * only a bounded window of pages around the last accessed position is kept, the other slots are
+ * placeholders and {@link #get(int)} returns null for them while their page loads.
+ * the list must only be accessed on the main thread
+ */
+public class RecyclePagedList<T> extends AbstractList<T> {
+
+    private static final long INITIAL_RETRY_BACKOFF = 1000;
+    private static final long MAX_RETRY_BACKOFF = 30 * 1000;
+
+    /**
+     * loads a page, called on a background thread
+     */
+    public interface PageLoader<T> {
+        /**
+         * @param page     page index
+         * @param pageSize page size
+         * @return items of the page, null if loading failed, the page is loaded again after a backoff
+         */
+        List<T> loadPage(int page, int pageSize);
+    }
+
+    private final PageLoader<T> mLoader;
+    private final Executor mExecutor;
+    private final int mPageSize;
+    private final int mMaxPages;
+    private final SparseArray<List<T>> mPages = new SparseArray<List<T>>();
+    private final SparseBooleanArray mLoadingPages = new SparseBooleanArray();
+    /**
+     * failed loads in a row by page, a page waiting for its retry stays in the loading pages
+     */
+    private final SparseIntArray mFailures = new SparseIntArray();
+    private int mTotalCount;
+    private int mLastAccessedPage;
+    /**
+     * increased by invalidate, pages loaded for an older generation are dropped
+     */
+    private int mGeneration;
+    private RecycleDiffer.UpdateCallback mCallback;
+
+    /**
+     * @param loader     page loader
+     * @param totalCount total item count
+     * @param pageSize   page size
+     * @param maxPages   max number of pages kept in memory, at least 3
+     */
+    public RecyclePagedList(PageLoader<T> loader, int totalCount, int pageSize, int maxPages) {
+        this(loader, totalCount, pageSize, maxPages, RecycleExecutors.pager());
+    }
+
+    /**
+     * @param loader     page loader
+     * @param totalCount total item count
+     * @param pageSize   page size
+     * @param maxPages   max number of pages kept in memory, at least 3
+     * @param executor   runs the page loader, for example the executor of the network layer
+     */
+    public RecyclePagedList(PageLoader<T> loader, int totalCount, int pageSize, int maxPages, Executor executor) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("page size must be positive");
+        }
+        mLoader = loader;
+        mExecutor = executor;
+        mTotalCount = totalCount < 0 ? 0 : totalCount;
+        mPageSize = pageSize;
+        mMaxPages = Math.max(3, maxPages);
+    }
+
+    /**
+     * @param index position
+     * @return item, null while the page of the position is not loaded
+     */
+    @Override
+    public T get(int index) {
+        if (index < 0 || index >= mTotalCount) {
+            throw new IndexOutOfBoundsException("index " + index + ", size " + mTotalCount);
+        }
+        int page = index / mPageSize;
+        mLastAccessedPage = page;
+        List<T> items = mPages.get(page);
+        if (null == items) {
+            loadPage(page);
+        }
+        //keep the neighbour page ready for the scroll direction
+        int offset = index - page * mPageSize;
+        loadPage(offset < mPageSize / 2 ? page - 1 : page + 1);
+        return null == items || offset >= items.size() ? null : items.get(offset);
+    }
+
+    @Override
+    public int size() {
+        return mTotalCount;
+    }
+
+    /**
+     * @param index position
+     * @return true if the page of the position is not loaded, it does not request the page
+     */
+    public boolean isPlaceholder(int index) {
+        List<T> items = mPages.get(index / mPageSize);
+        return null == items || index % mPageSize >= items.size();
+    }
+
+    public int getPageSize() {
+        return mPageSize;
+    }
+
+    /**
+     * update the total count, for example from the latest page response
+     *
+     * @param totalCount total item count
+     */
+    public void setTotalCount(int totalCount) {
+        totalCount = totalCount < 0 ? 0 : totalCount;
+        int oldCount = mTotalCount;
+        if (totalCount == oldCount) {
+            return;
+        }
+        mTotalCount = totalCount;
+        if (null != mCallback) {
+            if (totalCount > oldCount) {
+                mCallback.onInserted(oldCount, totalCount - oldCount);
+            } else {
+                mCallback.onRemoved(totalCount, oldCount - totalCount);
+            }
+        }
+    }
+
+    /**
+     * drop every loaded page, the visible rows load again
+     */
+    public void invalidate() {
+        mGeneration++;
+        mPages.clear();
+        mLoadingPages.clear();
+        mFailures.clear();
+        if (null != mCallback && mTotalCount > 0) {
+            mCallback.onChanged(0, mTotalCount, null);
+        }
+    }
+
+    /**
+     * @param callback receives the changed ranges when pages are loaded or evicted, null to detach
+     */
+    void setCallback(RecycleDiffer.UpdateCallback callback) {
+        mCallback = callback;
+    }
+
+    private void loadPage(final int page) {
+        if (page < 0 || page * mPageSize >= mTotalCount
+                || null != mPages.get(page) || mLoadingPages.get(page)) {
+            return;
+        }
+        mLoadingPages.put(page, true);
+        final int generation = mGeneration;
+        mExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                final List<T> items = mLoader.loadPage(page, mPageSize);
+                RecycleExecutors.mainHandler().post(new Runnable() {
+                    @Override
+                    public void run() {
+                        onPageLoaded(generation, page, items);
+                    }
+                });
+            }
+        });
+    }
+
+    private void onPageLoaded(int generation, int page, List<T> items) {
+        if (generation != mGeneration) {
+            return;
+        }
+        if (null == items) {
+            scheduleRetry(generation, page);
+            return;
+        }
+        mLoadingPages.delete(page);
+        mFailures.delete(page);
+        mPages.put(page, items);
+        notifyPageChanged(page);
+        evictFarPages();
+    }
+
+    /**
+     * load a failed page again after a backoff doubled on every failure, unless it left the kept window meanwhile
+     */
+    private void scheduleRetry(final int generation, final int page) {
+        int failures = mFailures.get(page) + 1;
+        mFailures.put(page, failures);
+        int shift = Math.min(failures - 1, 30);
+        RecycleExecutors.mainHandler().postDelayed(new Runnable() {
+            @Override
+            public void run() {
+                if (generation != mGeneration) {
+                    return;
+                }
+                mLoadingPages.delete(page);
+                if (Math.abs(page - mLastAccessedPage) > mMaxPages / 2) {
+                    //loaded again on the next access
+                    mFailures.delete(page);
+                    return;
+                }
+                loadPage(page);
+            }
+        }, Math.min(MAX_RETRY_BACKOFF, INITIAL_RETRY_BACKOFF << shift));
+    }
+
+    /**
+     * drop the pages farthest from the last accessed page until the window fits
+     */
+    private void evictFarPages() {
+        while (mPages.size() > mMaxPages) {
+            int farthest = mPages.keyAt(0);
+            int last = mPages.keyAt(mPages.size() - 1);
+            if (Math.abs(last - mLastAccessedPage) > Math.abs(farthest - mLastAccessedPage)) {
+                farthest = last;
+            }
+            mPages.remove(farthest);
+            notifyPageChanged(farthest);
+        }
+    }
+
+    private void notifyPageChanged(int page) {
+        int start = page * mPageSize;
+        int count = Math.min(mPageSize, mTotalCount - start);
+        if (null != mCallback && count > 0) {
+            mCallback.onChanged(start, count, null);
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package recycleview;
+
+import android.content.ComponentCallbacks;
+import android.content.ComponentCallbacks2;
+import android.content.Context;
+import android.content.res.Configuration;
+import android.os.Build;
+import android.os.Looper;
+import android.os.MessageQueue;
+import android.support.v7.widget.RecyclerView;
+import android.util.SparseIntArray;
+
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * @author yuanzheng
+ * process wide recycled view pools shared by key, lists showing the same row types share one pool
+ * so a holder inflated for one list is reused by the others.
+ * a pool is dropped with its holders once the last list releases it, the holders keep the context they were
+ * inflated with.
+ * only share a key between adapters that create the same holders for the same view types,
+ * see {@link RecycleViewFactory#getStableViewType()}. must be used on the main thread
+ */
+public final class RecyclePoolRegistry {
+
+    private static RecyclePoolRegistry sInstance;
+
+    private final Map<String, SharedPool> mPools = new HashMap<String, SharedPool>();
+    /**
+     * max recycled holders by view type by key, applied again to the pool of a key created after a release
+     */
+    private final Map<String, SparseIntArray> mMaxRecycledViews = new HashMap<String, SparseIntArray>();
+
+    private RecyclePoolRegistry() {
+    }
+
+    /**
+     * @param context context, the registry listens to the memory callbacks of the application
+     * @return registry
+     */
+    public static RecyclePoolRegistry getInstance(Context context) {
+        if (null == sInstance) {
+            sInstance = new RecyclePoolRegistry();
+            Context application = context.getApplicationContext();
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.ICE_CREAM_SANDWICH) {
+                application.registerComponentCallbacks(new TrimCallbacks(sInstance));
+            } else {
+                application.registerComponentCallbacks(new LowMemoryCallbacks(sInstance));
+            }
+        }
+        return sInstance;
+    }
+
+    /**
+     * get the pool of a key and hold it, call {@link #release(String)} when the list stops using it
+     *
+     * @param key pool key
+     * @return shared pool
+     */
+    public RecyclerView.RecycledViewPool acquire(String key) {
+        SharedPool pool = obtain(key);
+        pool.refCount++;
+        return pool.pool;
+    }
+
+    /**
+     * release a pool, the last release drops it with its holders
+     *
+     * @param key pool key
+     */
+    public void release(String key) {
+        SharedPool pool = mPools.get(key);
+        if (null == pool) {
+            return;
+        }
+        if (pool.refCount > 0) {
+            pool.refCount--;
+        }
+        if (pool.refCount == 0) {
+            pool.pool.clear();
+            mPools.remove(key);
+        }
+    }
+
+    /**
+     * set the max recycled holders of a view type
+     *
+     * @param key              pool key
+     * @param viewType         view type
+     * @param maxRecycledViews max recycled holders
+     */
+    public void setMaxRecycledViews(String key, int viewType, int maxRecycledViews) {
+        SparseIntArray maxRecycledViewsByType = mMaxRecycledViews.get(key);
+        if (null == maxRecycledViewsByType) {
+            maxRecycledViewsByType = new SparseIntArray();
+            mMaxRecycledViews.put(key, maxRecycledViewsByType);
+        }
+        maxRecycledViewsByType.put(viewType, maxRecycledViews);
+        obtain(key).pool.setMaxRecycledViews(viewType, maxRecycledViews);
+    }
+
+    /**
+     * create holders of a view type with the adapter of a list and put them into the pool of a key.
+     * one holder is created each time the main thread is idle, so warming never delays a frame.
+     * warming stops once the list is detached or its pool was dropped
+     *
+     * @param key      pool key
+     * @param parent   list whose adapter creates the holders
+     * @param viewType view type
+     * @param count    number of holders
+     */
+    public void prewarm(final String key, RecyclerView parent, final int viewType, final int count) {
+        final SharedPool pool = obtain(key);
+        if (count <= 0) {
+            return;
+        }
+        //the idle handler outlives a destroyed activity if the main thread never gets idle enough
+        final WeakReference<RecyclerView> parentReference = new WeakReference<RecyclerView>(parent);
+        Looper.myQueue().addIdleHandler(new MessageQueue.IdleHandler() {
+            private int mCreated;
+
+            @Override
+            public boolean queueIdle() {
+                RecyclerView parent = parentReference.get();
+                if (null == parent || null == parent.getWindowToken() || mPools.get(key) != pool) {
+                    return false;
+                }
+                RecyclerView.Adapter adapter = parent.getAdapter();
+                if (null == adapter) {
+                    return false;
+                }
+                pool.pool.putRecycledView(adapter.createViewHolder(parent, viewType));
+                return ++mCreated < count;
+            }
+        });
+    }
+
+    /**
+     * drop pooled holders, of unused pools on a light trim and of every pool once the app is in the background
+     *
+     * @param level trim level of {@link ComponentCallbacks2}
+     */
+    public void trim(int level) {
+        boolean trimAll = level >= ComponentCallbacks2.TRIM_MEMORY_BACKGROUND;
+        for (SharedPool pool : mPools.values()) {
+            if (trimAll || pool.refCount == 0) {
+                pool.pool.clear();
+            }
+        }
+    }
+
+    private SharedPool obtain(String key) {
+        if (null == key) {
+            throw new NullPointerException("pool key is null");
+        }
+        SharedPool pool = mPools.get(key);
+        if (null == pool) {
+            pool = new SharedPool();
+            SparseIntArray maxRecycledViewsByType = mMaxRecycledViews.get(key);
+            if (null != maxRecycledViewsByType) {
+                for (int i = 0; i < maxRecycledViewsByType.size(); i++) {
+                    pool.pool.setMaxRecycledViews(maxRecycledViewsByType.keyAt(i), maxRecycledViewsByType.valueAt(i));
+                }
+            }
+            mPools.put(key, pool);
+        }
+        return pool;
+    }
+
+    private static final class SharedPool {
+        final RecyclerView.RecycledViewPool pool = new RecyclerView.RecycledViewPool();
+        int refCount;
+    }
+
+    private static class LowMemoryCallbacks implements ComponentCallbacks {
+        final RecyclePoolRegistry mRegistry;
+
+        LowMemoryCallbacks(RecyclePoolRegistry registry) {
+            mRegistry = registry;
+        }
+
+        @Override
+        public void onConfigurationChanged(Configuration newConfig) {
+        }
+
+        @Override
+        public void onLowMemory() {
+            mRegistry.trim(ComponentCallbacks2.TRIM_MEMORY_COMPLETE);
+        }
+    }
+
+    /**
+     * only loaded on api 14 and above
+     */
+    private static final class TrimCallbacks extends LowMemoryCallbacks implements ComponentCallbacks2 {
+
+        TrimCallbacks(RecyclePoolRegistry registry) {
+            super(registry);
+        }
+
+        @Override
+        public void onTrimMemory(int level) {
+            mRegistry.trim(level);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package recycleview;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * @author yuanzheng
+ * insertion ordered list with a hash index, used for the headers and footers of {@link RecycleListAdapter}.
+ * contains and indexOf are constant time, so are appends and removals at the end.
+ * other changes mark the index stale, it is rebuilt once on the next lookup
+ */
+public class RecycleSectionList extends AbstractList<Object> {
+
+    private final ArrayList<Object> mItems;
+    /**
+     * first position of every item, only valid while mIndexValid is true
+     */
+    private final Map<Object, Integer> mIndex;
+    private boolean mIndexValid = true;
+
+    public RecycleSectionList() {
+        mItems = new ArrayList<Object>();
+        mIndex = new HashMap<Object, Integer>();
+    }
+
+    /**
+     * @param items initial items, copied
+     */
+    public RecycleSectionList(Collection<?> items) {
+        mItems = new ArrayList<Object>(items);
+        mIndex = new HashMap<Object, Integer>(mItems.size() * 2);
+        mIndexValid = false;
+    }
+
+    @Override
+    public Object get(int location) {
+        return mItems.get(location);
+    }
+
+    @Override
+    public int size() {
+        return mItems.size();
+    }
+
+    @Override
+    public boolean contains(Object object) {
+        ensureIndex();
+        return mIndex.containsKey(object);
+    }
+
+    @Override
+    public int indexOf(Object object) {
+        ensureIndex();
+        Integer index = mIndex.get(object);
+        return null == index ? -1 : index;
+    }
+
+    @Override
+    public boolean add(Object object) {
+        if (mIndexValid && !mIndex.containsKey(object)) {
+            mIndex.put(object, mItems.size());
+        }
+        mItems.add(object);
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public void add(int location, Object object) {
+        if (location == mItems.size()) {
+            add(object);
+            return;
+        }
+        mItems.add(location, object);
+        modCount++;
+        mIndexValid = false;
+    }
+
+    @Override
+    public Object set(int location, Object object) {
+        Object old = mItems.set(location, object);
+        mIndexValid = false;
+        return old;
+    }
+
+    @Override
+    public Object remove(int location) {
+        Object removed = mItems.remove(location);
+        modCount++;
+        if (location == mItems.size() && mIndexValid) {
+            Integer first = mIndex.get(removed);
+            //an earlier copy of the item keeps its entry
+            if (null != first && first == location) {
+                mIndex.remove(removed);
+            }
+        } else {
+            mIndexValid = false;
+        }
+        return removed;
+    }
+
+    @Override
+    public boolean remove(Object object) {
+        int index = indexOf(object);
+        if (index < 0) {
+            return false;
+        }
+        remove(index);
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        mItems.clear();
+        mIndex.clear();
+        mIndexValid = true;
+        modCount++;
+    }
+
+    private void ensureIndex() {
+        if (mIndexValid) {
+            return;
+        }
+        mIndex.clear();
+        for (int i = 0, size = mItems.size(); i < size; i++) {
+            Object item = mItems.get(i);
+            if (!mIndex.containsKey(item)) {
+                mIndex.put(item, i);
+            }
+        }
+        mIndexValid = true;
+    }
+}
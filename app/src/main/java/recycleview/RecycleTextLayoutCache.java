@@ -0,0 +1,253 @@
+package recycleview;
+
+import android.graphics.Typeface;
+import android.os.Build;
+import android.support.v4.util.LruCache;
+import android.text.Layout;
+import android.text.StaticLayout;
+import android.text.TextPaint;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * @author yuanzheng
+ * text layouts computed ahead on a background thread, keyed by text, width, text style and line spacing.
+ * texts are matched by equals, so a spanned text only matches itself and must not change once passed in.
+ * {@link RecycleTextView} draws the cached layouts, a TextView can't take a layout before api 28,
+ * computing the layout ahead still warms the text measure caches its own layout uses.
+ * layouts are evicted least recently used first once the memory budget is exceeded
+ */
+public class RecycleTextLayoutCache {
+
+    /**
+     * gives the text of an item
+     */
+    public interface TextSource<T> {
+        CharSequence getText(T item);
+    }
+
+    private final LruCache<Key, Layout> mLayouts;
+    /**
+     * keys being computed, so an item is queued once
+     */
+    private final Set<Key> mPending = new HashSet<Key>();
+    /**
+     * line spacing of the layouts computed from now on, the keys capture it so a layout in flight keeps its own
+     */
+    private float mSpacingMult = 1f;
+    private float mSpacingAdd;
+    private boolean mIncludePad = true;
+
+    /**
+     * @param maxBytes memory budget of the cached layouts
+     */
+    public RecycleTextLayoutCache(int maxBytes) {
+        mLayouts = new LruCache<Key, Layout>(maxBytes) {
+            @Override
+            protected int sizeOf(Key key, Layout layout) {
+                return estimateSize(key.text, layout);
+            }
+        };
+    }
+
+    /**
+     * line spacing of the layouts, set it to match the text views before computing layouts
+     *
+     * @param spacingMult line spacing multiplier
+     * @param spacingAdd  extra line spacing
+     * @param includePad  true to include the font padding
+     */
+    public void setLineSpacing(float spacingMult, float spacingAdd, boolean includePad) {
+        mSpacingMult = spacingMult;
+        mSpacingAdd = spacingAdd;
+        mIncludePad = includePad;
+        mLayouts.evictAll();
+    }
+
+    /**
+     * @param text  text
+     * @param paint text style
+     * @param width layout width
+     * @return cached layout, null if it is not computed yet
+     */
+    public Layout get(CharSequence text, TextPaint paint, int width) {
+        return mLayouts.get(newKey(text, paint, width));
+    }
+
+    /**
+     * get a cached layout, or compute it now
+     *
+     * @param text  text
+     * @param paint text style
+     * @param width layout width
+     * @return layout
+     */
+    public Layout obtain(CharSequence text, TextPaint paint, int width) {
+        Key key = newKey(text, paint, width);
+        Layout layout = mLayouts.get(key);
+        if (null == layout) {
+            //the layout keeps the paint to draw with, copy it so later changes of the caller's paint don't leak in
+            layout = createLayout(key, new TextPaint(paint));
+            mLayouts.put(key, layout);
+        }
+        return layout;
+    }
+
+    /**
+     * compute the layouts of items on the background thread, call it from the bind of the rows before them
+     *
+     * @param data   items
+     * @param start  first item
+     * @param count  number of items
+     * @param source text of an item
+     * @param paint  text style
+     * @param width  layout width
+     */
+    public <T> void precompute(List<T> data, int start, int count, TextSource<T> source, TextPaint paint, int width) {
+        if (width <= 0) {
+            return;
+        }
+        //the paint and the list may change on the main thread, copy what the worker needs
+        final TextPaint style = new TextPaint(paint);
+        final List<Key> keys = new ArrayList<Key>();
+        int end = Math.min(data.size(), start + count);
+        for (int i = Math.max(0, start); i < end; i++) {
+            CharSequence text = source.getText(data.get(i));
+            if (null == text) {
+                continue;
+            }
+            Key key = newKey(text, style, width);
+            if (null != mLayouts.get(key)) {
+                continue;
+            }
+            synchronized (mPending) {
+                if (!mPending.add(key)) {
+                    continue;
+                }
+            }
+            keys.add(key);
+        }
+        if (keys.isEmpty()) {
+            return;
+        }
+        RecycleExecutors.background().execute(new Runnable() {
+            @Override
+            public void run() {
+                for (int i = 0, size = keys.size(); i < size; i++) {
+                    Key key = keys.get(i);
+                    mLayouts.put(key, createLayout(key, style));
+                    synchronized (mPending) {
+                        mPending.remove(key);
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * compute the layouts of items on the background thread with the text style and width of a text view
+     *
+     * @param data   items
+     * @param start  first item
+     * @param count  number of items
+     * @param source text of an item
+     * @param view   text view the items are bound to, nothing is computed before it is measured
+     */
+    public <T> void precompute(List<T> data, int start, int count, TextSource<T> source, RecycleTextView view) {
+        precompute(data, start, count, source, view.getPaint(), view.getLayoutWidth());
+    }
+
+    public void clear() {
+        mLayouts.evictAll();
+    }
+
+    /**
+     * captures the line spacing on the calling thread, the worker only reads the key
+     */
+    private Key newKey(CharSequence text, TextPaint paint, int width) {
+        return new Key(text, paint, width, mSpacingMult, mSpacingAdd, mIncludePad);
+    }
+
+    private static Layout createLayout(Key key, TextPaint paint) {
+        return new StaticLayout(key.text, paint, key.width, Layout.Alignment.ALIGN_NORMAL, key.spacingMult,
+                key.spacingAdd, key.includePad);
+    }
+
+    /**
+     * rough retained size, the text plus the per line metrics
+     */
+    private static int estimateSize(CharSequence text, Layout layout) {
+        return 64 + text.length() * 2 + layout.getLineCount() * 40;
+    }
+
+    private static final class Key {
+        final CharSequence text;
+        final int width;
+        final float textSize;
+        final float textScaleX;
+        final float textSkewX;
+        final int flags;
+        final Typeface typeface;
+        final float letterSpacing;
+        final Locale locale;
+        /**
+         * the layout draws with its own paint, so the color is part of the style
+         */
+        final int color;
+        final float spacingMult;
+        final float spacingAdd;
+        final boolean includePad;
+        final int hashCode;
+
+        Key(CharSequence text, TextPaint paint, int width, float spacingMult, float spacingAdd, boolean includePad) {
+            this.text = text;
+            this.width = width;
+            this.textSize = paint.getTextSize();
+            this.textScaleX = paint.getTextScaleX();
+            this.textSkewX = paint.getTextSkewX();
+            this.flags = paint.getFlags();
+            this.typeface = paint.getTypeface();
+            this.letterSpacing = Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP ? paint.getLetterSpacing() : 0f;
+            this.locale = Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR1 ? paint.getTextLocale() : null;
+            this.color = paint.getColor();
+            this.spacingMult = spacingMult;
+            this.spacingAdd = spacingAdd;
+            this.includePad = includePad;
+            int hash = text.hashCode();
+            hash = 31 * hash + width;
+            hash = 31 * hash + Float.floatToIntBits(textSize);
+            hash = 31 * hash + flags;
+            hash = 31 * hash + (null == typeface ? 0 : typeface.hashCode());
+            hash = 31 * hash + (null == locale ? 0 : locale.hashCode());
+            hash = 31 * hash + color;
+            this.hashCode = hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return hashCode == key.hashCode && width == key.width && textSize == key.textSize
+                    && textScaleX == key.textScaleX && textSkewX == key.textSkewX && flags == key.flags
+                    && (typeface == null ? key.typeface == null : typeface.equals(key.typeface))
+                    && letterSpacing == key.letterSpacing
+                    && (locale == null ? key.locale == null : locale.equals(key.locale)) && color == key.color
+                    && spacingMult == key.spacingMult && spacingAdd == key.spacingAdd
+                    && includePad == key.includePad && text.equals(key.text);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package recycleview;
+
+import android.content.Context;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.text.Layout;
+import android.text.TextPaint;
+import android.util.AttributeSet;
+import android.view.View;
+
+/**
+ * @author yuanzheng
+ * row text drawn from a layout of a {@link RecycleTextLayoutCache}, so a bind with a precomputed layout does not
+ * lay the text out on the main thread. plain left aligned text, no ellipsizing, no max lines.
+ * bind with {@link #setText(CharSequence, RecycleTextLayoutCache)}, and precompute the rows after it with
+ * {@link RecycleTextLayoutCache#precompute(java.util.List, int, int, RecycleTextLayoutCache.TextSource, RecycleTextView)}
+ */
+public class RecycleTextView extends View {
+    private static final float DEFAULT_TEXT_SIZE_SP = 16f;
+    private final TextPaint mPaint = new TextPaint(Paint.ANTI_ALIAS_FLAG);
+    private CharSequence mText;
+    private RecycleTextLayoutCache mCache;
+    private Layout mLayout;
+    /**
+     * width of the text at the last measure, 0 before the first one
+     */
+    private int mLayoutWidth;
+
+    public RecycleTextView(Context context) {
+        this(context, null);
+    }
+
+    public RecycleTextView(Context context, AttributeSet attrs) {
+        this(context, attrs, 0);
+    }
+
+    public RecycleTextView(Context context, AttributeSet attrs, int defStyle) {
+        super(context, attrs, defStyle);
+        mPaint.setTextSize(DEFAULT_TEXT_SIZE_SP * getResources().getDisplayMetrics().scaledDensity);
+    }
+
+    /**
+     * @param text  text, null for none
+     * @param cache layouts to take the text layout from, a missing one is computed now
+     */
+    public void setText(CharSequence text, RecycleTextLayoutCache cache) {
+        mText = text;
+        mCache = cache;
+        Layout old = mLayout;
+        mLayout = null;
+        if (mLayoutWidth > 0 && null != text) {
+            mLayout = cache.obtain(text, mPaint, mLayoutWidth);
+        }
+        //the same height keeps the row size, only draw again
+        if (null == mLayout || null == old || old.getHeight() != mLayout.getHeight()) {
+            requestLayout();
+        }
+        invalidate();
+    }
+
+    public CharSequence getText() {
+        return mText;
+    }
+
+    /**
+     * @param size text size in pixels
+     */
+    public void setTextSize(float size) {
+        mPaint.setTextSize(size);
+        onStyleChanged();
+    }
+
+    public void setTextColor(int color) {
+        mPaint.setColor(color);
+        onStyleChanged();
+    }
+
+    /**
+     * text style of the layouts, call {@link #onStyleChanged()} after changing it
+     */
+    public TextPaint getPaint() {
+        return mPaint;
+    }
+
+    /**
+     * the text style changed, take the layout again
+     */
+    public void onStyleChanged() {
+        mLayout = null;
+        requestLayout();
+        invalidate();
+    }
+
+    /**
+     * @return width of the text at the last measure, 0 before the first one
+     */
+    public int getLayoutWidth() {
+        return mLayoutWidth;
+    }
+
+    @Override
+    protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        int widthMode = MeasureSpec.getMode(widthMeasureSpec);
+        int widthSize = MeasureSpec.getSize(widthMeasureSpec);
+        int horizontalPadding = getPaddingLeft() + getPaddingRight();
+        int layoutWidth;
+        if (MeasureSpec.UNSPECIFIED == widthMode) {
+            layoutWidth = null == mText ? 0 : (int) Math.ceil(Layout.getDesiredWidth(mText, mPaint));
+        } else {
+            layoutWidth = widthSize - horizontalPadding;
+        }
+        layoutWidth = Math.max(0, layoutWidth);
+        if (layoutWidth != mLayoutWidth || null == mLayout) {
+            mLayoutWidth = layoutWidth;
+            mLayout = null != mText && null != mCache && layoutWidth > 0
+                    ? mCache.obtain(mText, mPaint, layoutWidth) : null;
+        }
+        int width = MeasureSpec.EXACTLY == widthMode ? widthSize : layoutWidth + horizontalPadding;
+        if (MeasureSpec.AT_MOST == widthMode) {
+            width = Math.min(width, widthSize);
+        }
+        int heightMode = MeasureSpec.getMode(heightMeasureSpec);
+        int heightSize = MeasureSpec.getSize(heightMeasureSpec);
+        int height = (null == mLayout ? 0 : mLayout.getHeight()) + getPaddingTop() + getPaddingBottom();
+        if (MeasureSpec.EXACTLY == heightMode) {
+            height = heightSize;
+        } else if (MeasureSpec.AT_MOST == heightMode) {
+            height = Math.min(height, heightSize);
+        }
+        setMeasuredDimension(width, height);
+    }
+
+    @Override
+    protected void onDraw(Canvas canvas) {
+        if (null == mLayout) {
+            return;
+        }
+        int saveCount = canvas.save();
+        canvas.translate(getPaddingLeft(), getPaddingTop());
+        mLayout.draw(canvas);
+        canvas.restoreToCount(saveCount);
+    }
+}
@@ -0,0 +1,70 @@
+package recycleview;
+
+import android.support.v7.widget.RecyclerView;
+import android.view.ViewGroup;
+
+import java.util.List;
+
+/**
+ * @author yuanzheng
+ * creates and binds the holders of one view type, the adapter gives every registered factory its own view type
+ * and its own recycled pool
+ */
+public abstract class RecycleViewFactory<T> {
+
+    /**
+     * let the adapter hand out the view type
+     */
+    public static final int NO_STABLE_VIEW_TYPE = 0;
+
+    /**
+     * pin the view type of this factory, so adapters sharing a recycled pool agree on it,
+     * see {@link RecyclePoolRegistry}
+     *
+     * @return view type from {@link RecycleMode#VIEW_TYPE_FIRST_STABLE} up, or {@link #NO_STABLE_VIEW_TYPE}
+     */
+    public int getStableViewType() {
+        return NO_STABLE_VIEW_TYPE;
+    }
+
+    public abstract RecyclerView.ViewHolder onCreateViewHolder(ViewGroup parent);
+
+    /**
+     * @param holder   holder created by this factory
+     * @param item     item to bind
+     * @param position position of the item inside its section
+     */
+    public abstract void onBindViewHolder(RecyclerView.ViewHolder holder, T item, int position);
+
+    /**
+     * bind only the views affected by the payloads
+     *
+     * @param holder   holder created by this factory
+     * @param item     item to bind
+     * @param position position of the item inside its section
+     * @param payloads payloads, never empty
+     */
+    public void onBindViewHolder(RecyclerView.ViewHolder holder, T item, int position, List<Object> payloads) {
+        onBindViewHolder(holder, item, position);
+    }
+
+    /**
+     * bind only the cheap views during a fast fling, the row is rebound fully once the list is idle,
+     * see {@link RecycleListAdapter#setLiteBindVelocity(int)}
+     *
+     * @param holder   holder created by this factory
+     * @param item     item to bind
+     * @param position position of the item inside its section
+     */
+    public void onBindLiteViewHolder(RecyclerView.ViewHolder holder, T item, int position) {
+        onBindViewHolder(holder, item, position);
+    }
+
+    /**
+     * a holder created by this factory is recycled, cancel its pending async work such as image loads
+     *
+     * @param holder holder
+     */
+    public void onViewRecycled(RecyclerView.ViewHolder holder) {
+    }
+}
@@ -0,0 +1,108 @@
+package recycleview;
+
+import android.support.v7.widget.RecyclerView;
+import android.util.SparseArray;
+
+/**
+ * @author yuanzheng
+ * hands out view types to view factories, starting at {@link RecycleMode#VIEW_TYPE_FIRST_CUSTOM}
+ * so they never collide with the built in modes, factories with a stable view type keep their own
+ */
+@SuppressWarnings("unchecked")
+final class RecycleViewTypeRegistry {
+
+    static final int SECTION_DATA = 0;
+    static final int SECTION_HEADER = 1;
+    static final int SECTION_FOOTER = 2;
+
+    /**
+     * keep the recycled pool default
+     */
+    static final int DEFAULT_MAX_RECYCLED_VIEWS = -1;
+
+    private final SparseArray<Entry> mEntries = new SparseArray<Entry>();
+    private int mNextViewType = RecycleMode.VIEW_TYPE_FIRST_CUSTOM;
+
+    /**
+     * register a factory for a section, registering it again returns the same view type
+     *
+     * @param factory          factory
+     * @param section          section the factory creates holders for
+     * @param maxRecycledViews recycled pool size of the view type, or {@link #DEFAULT_MAX_RECYCLED_VIEWS}
+     * @return entry of the factory
+     */
+    Entry register(RecycleViewFactory factory, int section, int maxRecycledViews) {
+        Entry entry = find(factory, section);
+        if (null == entry) {
+            entry = new Entry(factory, section, obtainViewType(factory));
+            mEntries.put(entry.viewType, entry);
+        }
+        if (maxRecycledViews != DEFAULT_MAX_RECYCLED_VIEWS) {
+            entry.maxRecycledViews = maxRecycledViews;
+        }
+        return entry;
+    }
+
+    private int obtainViewType(RecycleViewFactory factory) {
+        int viewType = factory.getStableViewType();
+        if (viewType == RecycleViewFactory.NO_STABLE_VIEW_TYPE) {
+            return mNextViewType++;
+        }
+        if (viewType < RecycleMode.VIEW_TYPE_FIRST_STABLE) {
+            throw new IllegalArgumentException("stable view type " + viewType + " is below "
+                    + RecycleMode.VIEW_TYPE_FIRST_STABLE);
+        }
+        if (null != mEntries.get(viewType)) {
+            throw new IllegalStateException("stable view type " + viewType + " is already registered");
+        }
+        return viewType;
+    }
+
+    Entry find(RecycleViewFactory factory, int section) {
+        for (int i = 0, size = mEntries.size(); i < size; i++) {
+            Entry entry = mEntries.valueAt(i);
+            if (entry.factory == factory && entry.section == section) {
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @param viewType view type
+     * @return entry of the view type, null for the built in modes
+     */
+    Entry get(int viewType) {
+        if (viewType < RecycleMode.VIEW_TYPE_FIRST_CUSTOM) {
+            return null;
+        }
+        return mEntries.get(viewType);
+    }
+
+    /**
+     * apply the per type pool sizes to a recycled pool
+     *
+     * @param pool recycled view pool
+     */
+    void applyMaxRecycledViews(RecyclerView.RecycledViewPool pool) {
+        for (int i = 0, size = mEntries.size(); i < size; i++) {
+            Entry entry = mEntries.valueAt(i);
+            if (entry.maxRecycledViews != DEFAULT_MAX_RECYCLED_VIEWS) {
+                pool.setMaxRecycledViews(entry.viewType, entry.maxRecycledViews);
+            }
+        }
+    }
+
+    static final class Entry {
+        final RecycleViewFactory factory;
+        final int section;
+        final int viewType;
+        int maxRecycledViews = DEFAULT_MAX_RECYCLED_VIEWS;
+
+        Entry(RecycleViewFactory factory, int section, int viewType) {
+            this.factory = factory;
+            this.section = section;
+            this.viewType = viewType;
+        }
+    }
+}
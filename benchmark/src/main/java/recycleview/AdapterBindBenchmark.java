@@ -0,0 +1,93 @@
+package recycleview;
+
+import android.content.Context;
+import android.support.v7.widget.RecyclerView;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author yuanzheng
+ * position to section mapping of {@link RecycleListAdapter#getItemViewType(int)} and
+ * {@link RecycleListAdapter#onBindViewHolder(RecyclerView.ViewHolder, int)}, with and without metrics.
+ * positions are visited with a stride so every section is hit
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AdapterBindBenchmark {
+
+    private static final int STRIDE = 7919;
+    private static final int SECTION_COUNT = 5;
+
+    @Param({"1000", "100000"})
+    public int dataCount;
+
+    @Param({"false", "true"})
+    public boolean metrics;
+
+    private BenchmarkAdapter<String> mAdapter;
+    private RecyclerView.ViewHolder mHeaderHolder;
+    private RecyclerView.ViewHolder mDataHolder;
+    private RecyclerView.ViewHolder mFooterHolder;
+    private int mItemCount;
+    private int mPosition;
+
+    @Setup
+    public void setUp() {
+        Context context = new Context();
+        mAdapter = new BenchmarkAdapter<String>(context, BenchmarkAdapter.items("item ", dataCount),
+                BenchmarkAdapter.sections("header ", SECTION_COUNT), BenchmarkAdapter.sections("footer ", SECTION_COUNT));
+        mAdapter.setMetricsEnabled(metrics);
+        RecyclerView recyclerView = new RecyclerView(context);
+        recyclerView.setAdapter(mAdapter);
+        mHeaderHolder = mAdapter.createViewHolder(recyclerView, RecycleMode.MODE_HEADER_VIEW);
+        mDataHolder = mAdapter.createViewHolder(recyclerView, RecycleMode.MODE_DATA);
+        mFooterHolder = mAdapter.createViewHolder(recyclerView, RecycleMode.MODE_FOOTER_VIEW);
+        mItemCount = mAdapter.getItemCount();
+    }
+
+    private int nextPosition() {
+        int position = mPosition;
+        mPosition = (position + STRIDE) % mItemCount;
+        return position;
+    }
+
+    @Benchmark
+    public int getItemViewType() {
+        return mAdapter.getItemViewType(nextPosition());
+    }
+
+    @Benchmark
+    public Object bind() {
+        int position = nextPosition();
+        RecyclerView.ViewHolder holder;
+        switch (mAdapter.getItemViewType(position)) {
+            case RecycleMode.MODE_HEADER_VIEW:
+                holder = mHeaderHolder;
+                break;
+            case RecycleMode.MODE_FOOTER_VIEW:
+                holder = mFooterHolder;
+                break;
+            default:
+                holder = mDataHolder;
+                break;
+        }
+        mAdapter.onBindViewHolder(holder, position);
+        return holder.itemView.getTag();
+    }
+}
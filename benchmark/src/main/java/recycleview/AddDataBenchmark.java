@@ -0,0 +1,57 @@
+package recycleview;
+
+import android.content.Context;
+import android.support.v7.widget.RecyclerView;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author yuanzheng
+ * {@link RecycleListAdapter#addData(List)} with large pages. the page is removed again after every append,
+ * the same way a capped list drops its trailing rows, so the list keeps its size
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AddDataBenchmark {
+
+    private static final int DATA_COUNT = 10000;
+
+    @Param({"20", "1000", "10000"})
+    public int pageSize;
+
+    private BenchmarkAdapter<String> mAdapter;
+    private List<String> mPage;
+
+    @Setup
+    public void setUp() {
+        Context context = new Context();
+        mAdapter = new BenchmarkAdapter<String>(context, BenchmarkAdapter.items("item ", DATA_COUNT),
+                BenchmarkAdapter.sections("header ", 2), BenchmarkAdapter.sections("footer ", 2));
+        new RecyclerView(context).setAdapter(mAdapter);
+        mPage = BenchmarkAdapter.items("page ", pageSize);
+    }
+
+    @Benchmark
+    public int appendAndTrimPage() {
+        mAdapter.addData(mPage);
+        mAdapter.removeData(DATA_COUNT, pageSize);
+        return mAdapter.getItemCount();
+    }
+}
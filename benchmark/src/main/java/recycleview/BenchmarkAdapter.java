@@ -0,0 +1,101 @@
+package recycleview;
+
+import android.content.Context;
+import android.support.v7.widget.RecyclerView;
+import android.view.View;
+import android.view.ViewGroup;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author yuanzheng
+ * adapter of plain rows shared by the benchmarks, a bind only tags the row with its item
+ */
+class BenchmarkAdapter<T> extends RecycleListAdapter<T> {
+
+    private final Context mContext;
+    /**
+     * data rows bound so far
+     */
+    int mDataBindCount;
+
+    BenchmarkAdapter(Context context, List<T> data, List<Object> headers, List<Object> footers) {
+        super(data, headers, footers, RecycleMode.MODE_DATA, 0);
+        mContext = context;
+    }
+
+    @Override
+    public RecyclerView.ViewHolder onCreateDataViewHolder(ViewGroup parent) {
+        return new DefaultSimpleViewHolder(new View(mContext));
+    }
+
+    @Override
+    public RecyclerView.ViewHolder onCreateEmptyViewHolder(ViewGroup parent) {
+        return new DefaultSimpleViewHolder(new View(mContext));
+    }
+
+    @Override
+    public RecyclerView.ViewHolder onCreateHeaderViewHolder(ViewGroup parent) {
+        return new DefaultSimpleViewHolder(new View(mContext));
+    }
+
+    @Override
+    public RecyclerView.ViewHolder onCreateFooterViewHolder(ViewGroup parent) {
+        return new DefaultSimpleViewHolder(new View(mContext));
+    }
+
+    @Override
+    public void onBindDataViewHolder(RecyclerView.ViewHolder holder, int position) {
+        mDataBindCount++;
+        holder.itemView.setTag(mData.get(position));
+    }
+
+    @Override
+    public void onBindHeaderViewHolder(RecyclerView.ViewHolder holder, int position) {
+        holder.itemView.setTag(mHeaders.get(position));
+    }
+
+    @Override
+    public void onBindFooterViewHolder(RecyclerView.ViewHolder holder, int position) {
+        holder.itemView.setTag(mFooters.get(position));
+    }
+
+    /**
+     * @param prefix item prefix
+     * @param count  number of items
+     * @return mutable list of distinct items
+     */
+    static ArrayList<String> items(String prefix, int count) {
+        ArrayList<String> items = new ArrayList<String>(count);
+        for (int i = 0; i < count; i++) {
+            items.add(prefix + i);
+        }
+        return items;
+    }
+
+    /**
+     * lay out rows as the children of the list through its recycler, the way a layout pass adds them
+     *
+     * @param recyclerView list with a layout manager and this adapter
+     * @param first        first row
+     * @param last         last row
+     */
+    static void layOutRows(RecyclerView recyclerView, int first, int last) {
+        RecyclerView.LayoutManager layoutManager = recyclerView.getLayoutManager();
+        RecyclerView.Recycler recycler = recyclerView.new Recycler();
+        layoutManager.removeAllViews();
+        for (int position = first; position <= last; position++) {
+            layoutManager.addView(recycler.getViewForPosition(position));
+        }
+    }
+
+    /**
+     * @param prefix section prefix
+     * @param count  number of headers or footers
+     * @return mutable list of distinct headers or footers
+     */
+    static ArrayList<Object> sections(String prefix, int count) {
+        return new ArrayList<Object>(items(prefix, count));
+    }
+}
@@ -0,0 +1,58 @@
+package recycleview;
+
+import android.os.Looper;
+import android.os.MessageQueue;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+/**
+ * @author yuanzheng
+ * runs the messages posted to the main looper of the stand-ins, the benchmarks call it where a real main thread
+ * would return to its looper. like a real queue the stand-in has no public way to run its messages, the package
+ * private one of the stand-in is looked up once
+ */
+final class BenchmarkLooper {
+
+    private static final Method RUN_PENDING;
+
+    static {
+        try {
+            RUN_PENDING = MessageQueue.class.getDeclaredMethod("runPending", boolean.class);
+            RUN_PENDING.setAccessible(true);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("the message queue stand-in can not run its messages", e);
+        }
+    }
+
+    private BenchmarkLooper() {
+    }
+
+    /**
+     * run the messages due now, then the idle handlers
+     */
+    static void idle() {
+        runPending(false);
+    }
+
+    /**
+     * run every message, the delayed ones at once, then the idle handlers
+     */
+    static void runAll() {
+        runPending(true);
+    }
+
+    private static void runPending(boolean includeDelayed) {
+        try {
+            RUN_PENDING.invoke(Looper.getMainLooper().getQueue(), includeDelayed);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        } catch (InvocationTargetException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package recycleview;
+
+import android.content.Context;
+import android.support.v7.widget.RecyclerView;
+import android.view.View;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author yuanzheng
+ * a click on a data row through the click listener installed when the holder is created, with the default click delay.
+ * the delayed dispatch is run right after the click, run with -prof gc to check that a click allocates nothing
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ClickBenchmark {
+
+    private View mItemView;
+    private int mClickCount;
+
+    @Setup
+    public void setUp() {
+        Context context = new Context();
+        BenchmarkAdapter<String> adapter = new BenchmarkAdapter<String>(context, BenchmarkAdapter.items("item ", 100),
+                BenchmarkAdapter.sections("header ", 1), BenchmarkAdapter.sections("footer ", 1));
+        adapter.setOnItemClickListener(new RecycleListenerInterface.OnItemClickListener<String>() {
+            @Override
+            public void onItemClick(View view, String item) {
+                mClickCount++;
+            }
+        });
+        RecyclerView recyclerView = new RecyclerView(context);
+        recyclerView.setAdapter(adapter);
+        RecyclerView.ViewHolder holder = adapter.createViewHolder(recyclerView, RecycleMode.MODE_DATA);
+        adapter.onBindViewHolder(holder, 1);
+        mItemView = holder.itemView;
+    }
+
+    @Benchmark
+    public int click() {
+        mItemView.performClick();
+        BenchmarkLooper.runAll();
+        return mClickCount;
+    }
+}
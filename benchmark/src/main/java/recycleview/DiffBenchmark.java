@@ -0,0 +1,147 @@
+package recycleview;
+
+import android.content.Context;
+import android.support.v7.widget.LinearLayoutManager;
+import android.support.v7.widget.RecyclerView;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author yuanzheng
+ * a refreshed list with one percent of the rows changed, inserted or removed, set with
+ * {@link RecycleListAdapter#setData(List)} with a diff callback against without one, which notifies a full change.
+ * both lists have a header and a window of laid out rows holding one changed row. an invocation refreshes to the new
+ * list and back, each followed by the frame that lays the rows out again, and returns the data rows bound per refresh
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DiffBenchmark {
+
+    /**
+     * laid out data rows, the window holds the changed row 100
+     */
+    private static final int WINDOW_START = 95;
+    private static final int VISIBLE_ROWS = 12;
+
+    @Param({"1000", "10000"})
+    public int dataCount;
+
+    @Param({"false", "true"})
+    public boolean detectMoves;
+
+    private List<Row> mOldRows;
+    private List<Row> mNewRows;
+    private BenchmarkAdapter<Row> mDiffAdapter;
+    private BenchmarkAdapter<Row> mFullChangeAdapter;
+
+    @Setup
+    public void setUp() {
+        mOldRows = new ArrayList<Row>(dataCount);
+        mNewRows = new ArrayList<Row>(dataCount);
+        for (int i = 0; i < dataCount; i++) {
+            mOldRows.add(new Row(i, 0));
+            switch (i % 300) {
+                case 0:
+                    //removed
+                    break;
+                case 100:
+                    mNewRows.add(new Row(i, 1));
+                    break;
+                case 200:
+                    mNewRows.add(new Row(dataCount + i, 0));
+                    mNewRows.add(new Row(i, 0));
+                    break;
+                default:
+                    mNewRows.add(new Row(i, 0));
+                    break;
+            }
+        }
+        Context context = new Context();
+        mDiffAdapter = newAdapter(context);
+        mDiffAdapter.setDiffCallback(new RecycleDiffCallback<Row>() {
+            @Override
+            public boolean areItemsTheSame(Row oldItem, Row newItem) {
+                return oldItem.id == newItem.id;
+            }
+
+            @Override
+            public boolean areContentsTheSame(Row oldItem, Row newItem) {
+                return oldItem.version == newItem.version;
+            }
+        }, detectMoves);
+        mFullChangeAdapter = newAdapter(context);
+    }
+
+    private BenchmarkAdapter<Row> newAdapter(Context context) {
+        BenchmarkAdapter<Row> adapter = new BenchmarkAdapter<Row>(context, new ArrayList<Row>(mOldRows),
+                BenchmarkAdapter.sections("header ", 1), null);
+        RecyclerView recyclerView = new RecyclerView(context);
+        recyclerView.setLayoutManager(new LinearLayoutManager(context));
+        recyclerView.setAdapter(adapter);
+        int first = adapter.getHeaderCount() + WINDOW_START;
+        BenchmarkAdapter.layOutRows(recyclerView, first, first + VISIBLE_ROWS - 1);
+        return adapter;
+    }
+
+    /**
+     * setData with a diff callback, the diff runs on the worker and its result is dispatched on the main thread
+     */
+    @Benchmark
+    public int diff() {
+        mDiffAdapter.mDataBindCount = 0;
+        refresh(mDiffAdapter, mNewRows);
+        refresh(mDiffAdapter, mOldRows);
+        return mDiffAdapter.mDataBindCount / 2;
+    }
+
+    /**
+     * the baseline, setData without a diff callback
+     */
+    @Benchmark
+    public int notifyDataSetChanged() {
+        mFullChangeAdapter.mDataBindCount = 0;
+        refresh(mFullChangeAdapter, mNewRows);
+        refresh(mFullChangeAdapter, mOldRows);
+        return mFullChangeAdapter.mDataBindCount / 2;
+    }
+
+    /**
+     * set the rows, wait on the main looper until the adapter shows them, then run the frame laying them out
+     */
+    private static void refresh(BenchmarkAdapter<Row> adapter, List<Row> rows) {
+        adapter.setData(rows);
+        while (adapter.mData != rows) {
+            Thread.yield();
+            BenchmarkLooper.idle();
+        }
+        BenchmarkLooper.idle();
+    }
+
+    private static final class Row {
+        final int id;
+        final int version;
+
+        Row(int id, int version) {
+            this.id = id;
+            this.version = version;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package recycleview;
+
+import android.content.Context;
+import android.support.v7.widget.LinearLayoutManager;
+import android.support.v7.widget.RecyclerView;
+import android.view.View;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author yuanzheng
+ * wrap content measure of {@link ExpandLinearLayoutManager}, measuring every row against measuring once
+ * and serving the later passes from the measure cache. the height is unbounded, as inside a scrolling parent,
+ * so every row is measured on every pass
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MeasureBenchmark {
+
+    @Param({"20", "1000", "10000"})
+    public int dataCount;
+
+    @Param({"false", "true"})
+    public boolean measureCache;
+
+    private ExpandLinearLayoutManager mLayoutManager;
+    private RecyclerView.Recycler mRecycler;
+    private RecyclerView.State mState;
+    private final int mWidthSpec = View.MeasureSpec.makeMeasureSpec(1080, View.MeasureSpec.EXACTLY);
+    private final int mHeightSpec = View.MeasureSpec.makeMeasureSpec(0, View.MeasureSpec.UNSPECIFIED);
+
+    @Setup
+    public void setUp() {
+        Context context = new Context();
+        BenchmarkAdapter<String> adapter = new BenchmarkAdapter<String>(context, BenchmarkAdapter.items("item ", dataCount),
+                BenchmarkAdapter.sections("header ", 1), BenchmarkAdapter.sections("footer ", 1));
+        RecyclerView recyclerView = new RecyclerView(context);
+        mLayoutManager = new ExpandLinearLayoutManager(context, LinearLayoutManager.VERTICAL, false);
+        mLayoutManager.setMeasureCacheEnabled(measureCache);
+        recyclerView.setLayoutManager(mLayoutManager);
+        recyclerView.setAdapter(adapter);
+        mRecycler = recyclerView.new Recycler();
+        mState = new RecyclerView.State();
+    }
+
+    @Benchmark
+    public void measure() {
+        mLayoutManager.onMeasure(mRecycler, mState, mWidthSpec, mHeightSpec);
+    }
+}
@@ -0,0 +1,165 @@
+package recycleview;
+
+import android.content.Context;
+import android.support.v7.widget.LinearLayoutManager;
+import android.support.v7.widget.RecyclerView;
+
+import com.liangren.lrrecycleview.R;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author yuanzheng
+ * the load more check {@link AutoLoadMoreRecyclerView} runs on every scrolled frame, against the check it replaced.
+ * the trigger is cached and the loading footer is tracked by a flag, so after the first frame a frame is a compare.
+ * the old check looked up the visible rows on every frame. at the end of a list without more data it also looked up
+ * the loading string, twice while the footer was shown, and scanned the footers for it, a plain list back then
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScrollCheckBenchmark {
+
+    private static final int DATA_COUNT = 10000;
+    private static final int HEADER_COUNT = 2;
+    private static final int VISIBLE_ROWS = 11;
+
+    /**
+     * middle: far from the end with more data to load, end: the last rows are visible and there is no more data
+     */
+    @Param({"middle", "end"})
+    public String position;
+
+    /**
+     * footers of the app, the old check scanned them on every frame at the end
+     */
+    @Param({"2", "20"})
+    public int footerCount;
+
+    private AutoLoadMoreRecyclerView mRecyclerView;
+    private RecyclerView mLegacyRecyclerView;
+    private int mLoadMoreCount;
+
+    @Setup
+    public void setUp() {
+        Context context = new Context();
+        boolean end = "end".equals(position);
+        int totalDataCount = end ? DATA_COUNT : DATA_COUNT * 2;
+        mRecyclerView = new AutoLoadMoreRecyclerView(context);
+        mRecyclerView.setLayoutManager(new LinearLayoutManager(context));
+        mRecyclerView.setAdapter(adapter(context, footerCount));
+        layOutVisibleRows(mRecyclerView, end);
+        mRecyclerView.setTotalDataCount(totalDataCount);
+        mRecyclerView.setLoadMorePrefetchScreens(1);
+        mRecyclerView.enableAutoLoadMore(new AutoLoadMoreRecyclerView.RecycleLoadMoreListener() {
+            @Override
+            public void loadMore() {
+                mLoadMoreCount++;
+            }
+        });
+        mLegacyRecyclerView = new RecyclerView(context);
+        LinearLayoutManager legacyLayoutManager = new LinearLayoutManager(context);
+        BenchmarkAdapter<String> legacyAdapter = adapter(context, footerCount);
+        //the footers were a plain list, contains compared every footer
+        legacyAdapter.mFooters = new ArrayList<Object>(legacyAdapter.mFooters);
+        mLegacyRecyclerView.setLayoutManager(legacyLayoutManager);
+        mLegacyRecyclerView.setAdapter(legacyAdapter);
+        layOutVisibleRows(mLegacyRecyclerView, end);
+        mLegacyRecyclerView.addOnScrollListener(new LegacyLoadMoreScrollListener(legacyLayoutManager, legacyAdapter,
+                totalDataCount));
+    }
+
+    private static BenchmarkAdapter<String> adapter(Context context, int footerCount) {
+        return new BenchmarkAdapter<String>(context, BenchmarkAdapter.items("item ", DATA_COUNT),
+                BenchmarkAdapter.sections("header ", HEADER_COUNT), BenchmarkAdapter.sections("footer ", footerCount));
+    }
+
+    private static void layOutVisibleRows(RecyclerView recyclerView, boolean end) {
+        int last = end ? recyclerView.getAdapter().getItemCount() - 1 : 110;
+        BenchmarkAdapter.layOutRows(recyclerView, last - VISIBLE_ROWS + 1, last);
+    }
+
+    @Benchmark
+    public int scrolledFrame() {
+        mRecyclerView.scrollBy(0, 12);
+        return mLoadMoreCount;
+    }
+
+    /**
+     * a data or prefetch change drops the cached trigger, the next frame computes it again
+     */
+    @Benchmark
+    public int scrolledFrameAfterTriggerReset() {
+        mRecyclerView.setLoadMorePrefetchItems(0);
+        mRecyclerView.scrollBy(0, 12);
+        return mLoadMoreCount;
+    }
+
+    /**
+     * the baseline, the check before the trigger was cached
+     */
+    @Benchmark
+    public int legacyScrolledFrame() {
+        mLegacyRecyclerView.scrollBy(0, 12);
+        return mLoadMoreCount;
+    }
+
+    /**
+     * the load more scroll listener as it was before the trigger was cached
+     */
+    private final class LegacyLoadMoreScrollListener extends RecyclerView.OnScrollListener {
+        private final LinearLayoutManager mLayoutManager;
+        private final RecycleListAdapter<String> mAdapter;
+        private final int mTotalDataCount;
+        private boolean mLoadingLock;
+
+        LegacyLoadMoreScrollListener(LinearLayoutManager layoutManager, RecycleListAdapter<String> adapter,
+                                     int totalDataCount) {
+            mLayoutManager = layoutManager;
+            mAdapter = adapter;
+            mTotalDataCount = totalDataCount;
+        }
+
+        @Override
+        public void onScrolled(RecyclerView recyclerView, int dx, int dy) {
+            super.onScrolled(recyclerView, dx, dy);
+            if (mLoadingLock) {
+                return;
+            }
+            int visibleItemCount = mLayoutManager.getChildCount();
+            int totalItemCount = mLayoutManager.getItemCount();
+            int firstVisibleItemPosition = mLayoutManager.findFirstVisibleItemPosition();
+            if ((visibleItemCount + firstVisibleItemPosition) >= totalItemCount) {
+                if (mAdapter.getDataCount() < mTotalDataCount && mAdapter.getDataCount() > 0) {
+                    // has more
+                    mLoadingLock = true;
+                    if (!mAdapter.getFooters().contains(recyclerView.getResources().getString(R.string.loading))) {
+                        mAdapter.addFooter(recyclerView.getResources().getString(R.string.loading));
+                    }
+                    mLoadMoreCount++;
+                } else {
+                    // no more
+                    if (mAdapter.getFooters().contains(recyclerView.getResources().getString(R.string.loading))) {
+                        mAdapter.removeFooter(recyclerView.getResources().getString(R.string.loading));
+                    }
+                }
+            }
+        }
+    }
+}
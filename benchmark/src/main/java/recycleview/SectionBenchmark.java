@@ -0,0 +1,82 @@
+package recycleview;
+
+import android.content.Context;
+import android.support.v7.widget.RecyclerView;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author yuanzheng
+ * header and footer add and remove on large lists, every operation is paired with its inverse
+ * so the sections keep their size
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SectionBenchmark {
+
+    @Param({"10000", "100000"})
+    public int dataCount;
+
+    @Param({"10", "1000"})
+    public int sectionCount;
+
+    private BenchmarkAdapter<String> mAdapter;
+    private final Object mSection = new Object();
+
+    @Setup
+    public void setUp() {
+        Context context = new Context();
+        mAdapter = new BenchmarkAdapter<String>(context, BenchmarkAdapter.items("item ", dataCount),
+                BenchmarkAdapter.sections("header ", sectionCount), BenchmarkAdapter.sections("footer ", sectionCount));
+        new RecyclerView(context).setAdapter(mAdapter);
+    }
+
+    @Benchmark
+    public int addRemoveLastHeader() {
+        mAdapter.addHeader(mSection);
+        mAdapter.removeHeader(mSection);
+        return mAdapter.getHeaderCount();
+    }
+
+    @Benchmark
+    public int addRemoveLastFooter() {
+        mAdapter.addFooter(mSection);
+        mAdapter.removeFooter(mSection);
+        return mAdapter.getFooterCount();
+    }
+
+    /**
+     * removing the first header shifts every other one, the next lookup rebuilds the index
+     */
+    @Benchmark
+    public int rotateHeaders() {
+        Object first = mAdapter.getHeaders().get(0);
+        mAdapter.removeHeader(first);
+        mAdapter.addHeader(first);
+        return mAdapter.getHeaderCount();
+    }
+
+    @Benchmark
+    public int rotateFooters() {
+        Object first = mAdapter.getFooters().get(0);
+        mAdapter.removeFooter(first);
+        mAdapter.addFooter(first);
+        return mAdapter.getFooterCount();
+    }
+}
@@ -0,0 +1,9 @@
+package android.content;
+import android.content.res.Resources;
+public class Context {
+    private final Resources mResources = new Resources();
+    public Resources getResources() { return mResources; }
+    public Context getApplicationContext() { return this; }
+    public void registerComponentCallbacks(ComponentCallbacks callback) { }
+    public void unregisterComponentCallbacks(ComponentCallbacks callback) { }
+}
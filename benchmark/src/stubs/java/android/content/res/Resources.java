@@ -0,0 +1,24 @@
+package android.content.res;
+/**
+ * strings are looked up in the resource table under the access lock and turned into a string on every call,
+ * like the java side of the real class. the table holds the strings of the app module the benchmarks use
+ */
+public class Resources {
+    public static class NotFoundException extends RuntimeException { public NotFoundException(String name) { super(name); } }
+    private final Object mAccessLock = new Object();
+    private final android.util.SparseArray<CharSequence> mStrings = new android.util.SparseArray<CharSequence>();
+    public Resources() {
+        mStrings.put(com.liangren.lrrecycleview.R.string.loading, "loading...");
+        mStrings.put(com.liangren.lrrecycleview.R.string.load_more_retry, "load failed, tap to retry");
+    }
+    public CharSequence getText(int id) {
+        synchronized (mAccessLock) {
+            CharSequence text = mStrings.get(id);
+            if (text == null) throw new NotFoundException("String resource ID #0x" + Integer.toHexString(id));
+            return text;
+        }
+    }
+    public String getString(int id) { return getText(id).toString(); }
+    public android.graphics.drawable.Drawable getDrawable(int id) { return new android.graphics.drawable.ColorDrawable(); }
+    public android.util.DisplayMetrics getDisplayMetrics() { return new android.util.DisplayMetrics(); }
+}
@@ -0,0 +1,9 @@
+package android.graphics;
+public class Canvas {
+    public void drawRect(float l, float t, float r, float b, Paint p) { }
+    public void drawRect(Rect r, Paint p) { }
+    public void drawLines(float[] pts, int offset, int count, Paint p) { }
+    public void drawLines(float[] pts, Paint p) { }
+    public void drawPath(Path path, Paint p) { }
+    public int save() { return 1; } public void restoreToCount(int count) { } public void translate(float dx, float dy) { }
+}
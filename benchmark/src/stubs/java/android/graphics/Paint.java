@@ -0,0 +1,14 @@
+package android.graphics;
+public class Paint {
+    public static final int ANTI_ALIAS_FLAG = 1;
+    public enum Style { FILL, STROKE, FILL_AND_STROKE }
+    public enum Cap { BUTT, ROUND, SQUARE }
+    public Paint() { } public Paint(int flags) { } public Paint(Paint p) { }
+    public void setColor(int c) { } public int getColor() { return 0; }
+    public void setStyle(Style s) { } public void setStrokeWidth(float w) { } public void setStrokeCap(Cap c) { }
+    public float getTextSize() { return 12f; } public void setTextSize(float s) { }
+    public Typeface getTypeface() { return null; } public int getFlags() { return 0; }
+    public float getTextScaleX() { return 1f; } public float getTextSkewX() { return 0f; }
+    public float getLetterSpacing() { return 0f; }
+    public java.util.Locale getTextLocale() { return java.util.Locale.getDefault(); }
+}
@@ -0,0 +1,2 @@
+package android.graphics;
+public class Path { public enum Direction { CW, CCW } public void rewind() { } public void reset() { } public void addRect(float l, float t, float r, float b, Direction d) { } }
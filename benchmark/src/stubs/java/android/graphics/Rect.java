@@ -0,0 +1,2 @@
+package android.graphics;
+public class Rect { public int left, top, right, bottom; public void set(int l, int t, int r, int b) { left = l; top = t; right = r; bottom = b; } }
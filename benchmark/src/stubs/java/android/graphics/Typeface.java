@@ -0,0 +1,2 @@
+package android.graphics;
+public class Typeface { public int getStyle() { return 0; } }
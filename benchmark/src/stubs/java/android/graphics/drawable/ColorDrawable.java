@@ -0,0 +1,6 @@
+package android.graphics.drawable;
+public class ColorDrawable extends Drawable {
+    public ColorDrawable() { } public ColorDrawable(int color) { }
+    public int getColor() { return 0; }
+    public void draw(android.graphics.Canvas c) { }
+}
@@ -0,0 +1,6 @@
+package android.graphics.drawable;
+public abstract class Drawable {
+    public int getIntrinsicHeight() { return 1; }
+    public void setBounds(int l, int t, int r, int b) { }
+    public abstract void draw(android.graphics.Canvas c);
+}
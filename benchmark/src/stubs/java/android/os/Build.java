@@ -0,0 +1,5 @@
+package android.os;
+public class Build {
+    public static class VERSION { public static final int SDK_INT = 23; }
+    public static class VERSION_CODES { public static final int ICE_CREAM_SANDWICH = 14; public static final int JELLY_BEAN = 16; public static final int JELLY_BEAN_MR1 = 17; public static final int LOLLIPOP = 21; public static final int P = 28; }
+}
@@ -0,0 +1,23 @@
+package android.os;
+public class Handler {
+    final Looper mLooper;
+    final MessageQueue mQueue;
+    public Handler() {
+        this(Looper.myLooper());
+    }
+    public Handler(Looper looper) {
+        if (looper == null) throw new RuntimeException("Can't create handler inside thread that has not called Looper.prepare()");
+        mLooper = looper;
+        mQueue = looper.mQueue;
+    }
+    public final boolean post(Runnable r) { return postDelayed(r, 0); }
+    public final boolean postDelayed(Runnable r, long delayMillis) {
+        Message msg = Message.obtain();
+        msg.callback = r;
+        msg.target = this;
+        return mQueue.enqueueMessage(msg, SystemClock.uptimeMillis() + Math.max(0, delayMillis));
+    }
+    public final void removeCallbacks(Runnable r) { mQueue.removeMessages(this, r); }
+    public final void removeCallbacksAndMessages(Object token) { mQueue.removeMessages(this, null); }
+    public final Looper getLooper() { return mLooper; }
+}
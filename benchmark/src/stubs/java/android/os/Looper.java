@@ -0,0 +1,16 @@
+package android.os;
+/**
+ * the main looper belongs to the first thread using it, the benchmark thread. it has no loop,
+ * the benchmarks run its messages with recycleview.BenchmarkLooper
+ */
+public final class Looper {
+    private static final Looper sMainLooper = new Looper(Thread.currentThread());
+    final MessageQueue mQueue = new MessageQueue();
+    private final Thread mThread;
+    private Looper(Thread thread) { mThread = thread; }
+    public static Looper getMainLooper() { return sMainLooper; }
+    public static Looper myLooper() { return Thread.currentThread() == sMainLooper.mThread ? sMainLooper : null; }
+    public static MessageQueue myQueue() { return myLooper().mQueue; }
+    public Thread getThread() { return mThread; }
+    public MessageQueue getQueue() { return mQueue; }
+}
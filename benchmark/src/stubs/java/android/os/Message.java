@@ -0,0 +1,23 @@
+package android.os;
+public final class Message {
+    private static final int MAX_POOL_SIZE = 50;
+    private static final Object sPoolSync = new Object();
+    private static Message sPool;
+    private static int sPoolSize;
+    Runnable callback;
+    Handler target;
+    long when;
+    Message next;
+    public static Message obtain() {
+        synchronized (sPoolSync) {
+            if (sPool != null) { Message m = sPool; sPool = m.next; m.next = null; sPoolSize--; return m; }
+        }
+        return new Message();
+    }
+    public void recycle() {
+        callback = null; target = null; when = 0;
+        synchronized (sPoolSync) {
+            if (sPoolSize < MAX_POOL_SIZE) { next = sPool; sPool = this; sPoolSize++; }
+        }
+    }
+}
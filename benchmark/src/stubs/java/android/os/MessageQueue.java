@@ -0,0 +1,67 @@
+package android.os;
+import java.util.ArrayList;
+public final class MessageQueue {
+    public interface IdleHandler { boolean queueIdle(); }
+    private final ArrayList<IdleHandler> mIdleHandlers = new ArrayList<IdleHandler>();
+    private IdleHandler[] mPendingIdleHandlers;
+    private Message mMessages;
+    public void addIdleHandler(IdleHandler handler) { synchronized (this) { mIdleHandlers.add(handler); } }
+    public void removeIdleHandler(IdleHandler handler) { synchronized (this) { mIdleHandlers.remove(handler); } }
+    boolean enqueueMessage(Message msg, long when) {
+        synchronized (this) {
+            msg.when = when;
+            Message prev = null, p = mMessages;
+            while (p != null && p.when <= when) { prev = p; p = p.next; }
+            msg.next = p;
+            if (prev == null) mMessages = msg; else prev.next = msg;
+        }
+        return true;
+    }
+    void removeMessages(Handler h, Runnable r) {
+        synchronized (this) {
+            Message prev = null, p = mMessages;
+            while (p != null) {
+                Message n = p.next;
+                if (p.target == h && (r == null || p.callback == r)) {
+                    if (prev == null) mMessages = n; else prev.next = n;
+                    p.recycle();
+                } else {
+                    prev = p;
+                }
+                p = n;
+            }
+        }
+    }
+    /**
+     * run the messages due now, or every message when delayed ones are included, then the idle handlers once,
+     * then the messages they posted. the stand-in of the looper loop, called by recycleview.BenchmarkLooper
+     */
+    void runPending(boolean includeDelayed) {
+        runMessages(includeDelayed);
+        int count;
+        synchronized (this) {
+            count = mIdleHandlers.size();
+            if (mPendingIdleHandlers == null || mPendingIdleHandlers.length < count) mPendingIdleHandlers = new IdleHandler[Math.max(4, count)];
+            mPendingIdleHandlers = mIdleHandlers.toArray(mPendingIdleHandlers);
+        }
+        for (int i = 0; i < count; i++) {
+            IdleHandler idler = mPendingIdleHandlers[i];
+            mPendingIdleHandlers[i] = null;
+            if (!idler.queueIdle()) removeIdleHandler(idler);
+        }
+        runMessages(includeDelayed);
+    }
+    private void runMessages(boolean includeDelayed) {
+        while (true) {
+            Message msg;
+            synchronized (this) {
+                msg = mMessages;
+                if (msg == null || (!includeDelayed && msg.when > SystemClock.uptimeMillis())) return;
+                mMessages = msg.next;
+                msg.next = null;
+            }
+            msg.callback.run();
+            msg.recycle();
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package android.support.v4.util;
+public class LruCache<K, V> {
+    private final java.util.LinkedHashMap<K, V> mMap = new java.util.LinkedHashMap<K, V>(0, 0.75f, true);
+    private int mMaxSize; private int mSize;
+    public LruCache(int maxSize) { mMaxSize = maxSize; }
+    public final synchronized V get(K key) { return mMap.get(key); }
+    public final synchronized V put(K key, V value) { mSize += sizeOf(key, value); V old = mMap.put(key, value); if (old != null) mSize -= sizeOf(key, old); trimToSize(mMaxSize); return old; }
+    public synchronized void trimToSize(int maxSize) { java.util.Iterator<java.util.Map.Entry<K, V>> it = mMap.entrySet().iterator(); while (mSize > maxSize && it.hasNext()) { java.util.Map.Entry<K, V> e = it.next(); mSize -= sizeOf(e.getKey(), e.getValue()); it.remove(); } }
+    public final synchronized V remove(K key) { V v = mMap.remove(key); if (v != null) mSize -= sizeOf(key, v); return v; }
+    public final void evictAll() { trimToSize(-1); }
+    public final synchronized int size() { return mSize; }
+    public final synchronized int maxSize() { return mMaxSize; }
+    protected int sizeOf(K key, V value) { return 1; }
+}
@@ -0,0 +1,19 @@
+package android.support.v7.widget;
+import android.content.Context;
+public class GridLayoutManager extends LinearLayoutManager {
+    private int mSpanCount;
+    private SpanSizeLookup mSpanSizeLookup = new DefaultSpanSizeLookup();
+    public GridLayoutManager(Context context, int spanCount) { super(context); mSpanCount = spanCount; }
+    public int getSpanCount() { return mSpanCount; }
+    public void setSpanSizeLookup(SpanSizeLookup lookup) { mSpanSizeLookup = lookup; }
+    public SpanSizeLookup getSpanSizeLookup() { return mSpanSizeLookup; }
+    public abstract static class SpanSizeLookup {
+        public abstract int getSpanSize(int position);
+        public void setSpanIndexCacheEnabled(boolean cacheSpanIndices) { }
+        public void invalidateSpanIndexCache() { }
+        public boolean isSpanIndexCacheEnabled() { return false; }
+    }
+    public static final class DefaultSpanSizeLookup extends SpanSizeLookup {
+        public int getSpanSize(int position) { return 1; }
+    }
+}
@@ -0,0 +1,39 @@
+package android.support.v7.widget;
+import android.content.Context;
+/**
+ * the children are the rows laid out, all of them visible. scrolling consumes the whole distance without moving them,
+ * a layout keeps the number of rows
+ */
+public class LinearLayoutManager extends RecyclerView.LayoutManager {
+    public static final int HORIZONTAL = 0, VERTICAL = 1;
+    private int mOrientation = VERTICAL;
+    public LinearLayoutManager(Context context) { }
+    public LinearLayoutManager(Context context, int orientation, boolean reverseLayout) { mOrientation = orientation; }
+    public RecyclerView.LayoutParams generateDefaultLayoutParams() { return new RecyclerView.LayoutParams(-2, -2); }
+    public int getOrientation() { return mOrientation; }
+    public boolean getReverseLayout() { return false; }
+    public boolean canScrollHorizontally() { return mOrientation == HORIZONTAL; }
+    public boolean canScrollVertically() { return mOrientation == VERTICAL; }
+    public int scrollHorizontallyBy(int dx, RecyclerView.Recycler recycler, RecyclerView.State state) { return mOrientation == HORIZONTAL ? dx : 0; }
+    public int scrollVerticallyBy(int dy, RecyclerView.Recycler recycler, RecyclerView.State state) { return mOrientation == VERTICAL ? dy : 0; }
+    public int findFirstVisibleItemPosition() { return getChildCount() == 0 ? RecyclerView.NO_POSITION : getPosition(getChildAt(0)); }
+    public int findFirstCompletelyVisibleItemPosition() { return findFirstVisibleItemPosition(); }
+    public int findLastVisibleItemPosition() { return getChildCount() == 0 ? RecyclerView.NO_POSITION : getPosition(getChildAt(getChildCount() - 1)); }
+    public int findLastCompletelyVisibleItemPosition() { return findLastVisibleItemPosition(); }
+    public void scrollToPositionWithOffset(int position, int offset) { }
+    /**
+     * lays out as many rows as before, from the first row still there, its rows removed above it are filled in again
+     */
+    public void onLayoutChildren(RecyclerView.Recycler recycler, RecyclerView.State state) {
+        int count = getChildCount();
+        int first = RecyclerView.NO_POSITION;
+        for (int i = 0; i < count && first == RecyclerView.NO_POSITION; i++) {
+            RecyclerView.ViewHolder h = mRecyclerView.getChildViewHolder(getChildAt(i));
+            if ((h.mFlags & RecyclerView.ViewHolder.FLAG_REMOVED) == 0) first = h.mPosition - i;
+        }
+        detachAndScrapAttachedViews(recycler);
+        int itemCount = state.getItemCount();
+        first = Math.max(0, Math.min(first == RecyclerView.NO_POSITION ? 0 : first, itemCount - count));
+        for (int position = first; position < first + count && position < itemCount; position++) addView(recycler.getViewForPosition(position));
+    }
+}
@@ -0,0 +1,274 @@
+package android.support.v7.widget;
+
+import android.content.Context;
+import android.graphics.Canvas;
+import android.graphics.Rect;
+import android.util.AttributeSet;
+import android.view.View;
+import android.view.ViewGroup;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class RecyclerView extends ViewGroup {
+    public static final long NO_ID = -1;
+    public static final int NO_POSITION = -1;
+    public static final int SCROLL_STATE_IDLE = 0, SCROLL_STATE_DRAGGING = 1, SCROLL_STATE_SETTLING = 2;
+    public static final int HORIZONTAL = 0, VERTICAL = 1;
+
+    private Adapter mAdapter;
+    private LayoutManager mLayout;
+    private RecycledViewPool mPool;
+    private final List<OnScrollListener> mScrollListeners = new ArrayList<OnScrollListener>();
+    private final List<ItemDecoration> mDecorations = new ArrayList<ItemDecoration>();
+    private int mScrollState;
+    final Recycler mRecycler = new Recycler();
+    final State mState = new State();
+    /**
+     * like the real list, notifications flag the laid out holders and the next frame lays the rows out again,
+     * rebinding the flagged ones only
+     */
+    private final AdapterDataObserver mObserver = new RecyclerViewDataObserver();
+    private boolean mLayoutPosted;
+    private final Runnable mLayoutRunnable = new Runnable() { public void run() { mLayoutPosted = false; dispatchLayout(); } };
+
+    public RecyclerView(Context context) { super(context); }
+    public RecyclerView(Context context, AttributeSet attrs) { super(context, attrs); }
+    public RecyclerView(Context context, AttributeSet attrs, int defStyle) { super(context, attrs, defStyle); }
+
+    public void setAdapter(Adapter adapter) {
+        if (mAdapter != null) { mAdapter.unregisterAdapterDataObserver(mObserver); mAdapter.onDetachedFromRecyclerView(this); }
+        mAdapter = adapter;
+        if (adapter != null) { adapter.registerAdapterDataObserver(mObserver); adapter.onAttachedToRecyclerView(this); }
+    }
+    public Adapter getAdapter() { return mAdapter; }
+    public void setLayoutManager(LayoutManager layout) { mLayout = layout; if (layout != null) layout.mRecyclerView = this; }
+    public LayoutManager getLayoutManager() { return mLayout; }
+    public void addOnScrollListener(OnScrollListener l) { mScrollListeners.add(l); }
+    public void removeOnScrollListener(OnScrollListener l) { mScrollListeners.remove(l); }
+    public void addItemDecoration(ItemDecoration d) { mDecorations.add(d); }
+    public void removeItemDecoration(ItemDecoration d) { mDecorations.remove(d); }
+    public void invalidateItemDecorations() { }
+    public void setHasFixedSize(boolean b) { }
+    public void setItemViewCacheSize(int size) { }
+    public void setViewCacheExtension(ViewCacheExtension extension) { }
+    public RecycledViewPool getRecycledViewPool() { if (mPool == null) mPool = new RecycledViewPool(); return mPool; }
+    public void setRecycledViewPool(RecycledViewPool pool) { mPool = pool; }
+    public int getScrollState() { return mScrollState; }
+    public boolean fling(int velocityX, int velocityY) { if (mLayout == null || (velocityX == 0 && velocityY == 0)) return false; setScrollState(SCROLL_STATE_SETTLING); return true; }
+    public void stopScroll() { setScrollState(SCROLL_STATE_IDLE); }
+    public void scrollBy(int x, int y) {
+        if (mLayout == null) return;
+        int consumedX = mLayout.canScrollHorizontally() ? mLayout.scrollHorizontallyBy(x, mRecycler, mState) : 0;
+        int consumedY = mLayout.canScrollVertically() ? mLayout.scrollVerticallyBy(y, mRecycler, mState) : 0;
+        if (consumedX != 0 || consumedY != 0) dispatchOnScrolled(consumedX, consumedY);
+    }
+    public void scrollToPosition(int position) { }
+    public void smoothScrollToPosition(int position) { }
+    public int getChildAdapterPosition(View child) { ViewHolder h = getChildViewHolder(child); return h == null ? NO_POSITION : h.getAdapterPosition(); }
+    public int getChildLayoutPosition(View child) { ViewHolder h = getChildViewHolder(child); return h == null ? NO_POSITION : h.getLayoutPosition(); }
+    public ViewHolder getChildViewHolder(View child) { ViewGroup.LayoutParams lp = child.getLayoutParams(); return lp instanceof LayoutParams ? ((LayoutParams) lp).mViewHolder : null; }
+    public ViewHolder findViewHolderForAdapterPosition(int position) { return null; }
+    public boolean isComputingLayout() { return false; }
+    public void onScrollStateChanged(int state) { }
+    public void onScrolled(int dx, int dy) { }
+    void dispatchOnScrolled(int dx, int dy) { onScrolled(dx, dy); for (int i = mScrollListeners.size() - 1; i >= 0; i--) mScrollListeners.get(i).onScrolled(this, dx, dy); }
+    public void requestLayout() { if (!mLayoutPosted) { mLayoutPosted = true; post(mLayoutRunnable); } }
+    void dispatchLayout() {
+        if (mAdapter == null || mLayout == null) return;
+        mState.mItemCount = mAdapter.getItemCount();
+        mLayout.onLayoutChildren(mRecycler, mState);
+        mRecycler.recycleScrap();
+    }
+    private void offsetPositions(int start, int end, int offset) {
+        for (int i = 0, n = getChildCount(); i < n; i++) { ViewHolder h = getChildViewHolder(getChildAt(i)); if (h != null && h.mPosition >= start && h.mPosition < end) h.mPosition += offset; }
+    }
+    private void flagPositions(int start, int end, int flag) {
+        for (int i = 0, n = getChildCount(); i < n; i++) { ViewHolder h = getChildViewHolder(getChildAt(i)); if (h != null && h.mPosition >= start && h.mPosition < end) h.mFlags |= flag; }
+    }
+    private class RecyclerViewDataObserver extends AdapterDataObserver {
+        public void onChanged() { flagPositions(Integer.MIN_VALUE, Integer.MAX_VALUE, ViewHolder.FLAG_INVALID); requestLayout(); }
+        public void onItemRangeChanged(int positionStart, int itemCount, Object payload) { flagPositions(positionStart, positionStart + itemCount, ViewHolder.FLAG_UPDATE); requestLayout(); }
+        public void onItemRangeInserted(int positionStart, int itemCount) { offsetPositions(positionStart, Integer.MAX_VALUE, itemCount); requestLayout(); }
+        public void onItemRangeRemoved(int positionStart, int itemCount) { flagPositions(positionStart, positionStart + itemCount, ViewHolder.FLAG_REMOVED); offsetPositions(positionStart + itemCount, Integer.MAX_VALUE, -itemCount); requestLayout(); }
+        public void onItemRangeMoved(int fromPosition, int toPosition, int itemCount) {
+            for (int i = 0, n = getChildCount(); i < n; i++) {
+                ViewHolder h = getChildViewHolder(getChildAt(i));
+                if (h == null) continue;
+                if (h.mPosition == fromPosition) h.mPosition = toPosition;
+                else if (fromPosition < toPosition && h.mPosition > fromPosition && h.mPosition <= toPosition) h.mPosition--;
+                else if (fromPosition > toPosition && h.mPosition >= toPosition && h.mPosition < fromPosition) h.mPosition++;
+            }
+            requestLayout();
+        }
+    }
+    void setScrollState(int state) { if (state == mScrollState) return; mScrollState = state; onScrollStateChanged(state); for (int i = mScrollListeners.size() - 1; i >= 0; i--) mScrollListeners.get(i).onScrollStateChanged(this, state); }
+
+    public abstract static class OnScrollListener {
+        public void onScrollStateChanged(RecyclerView recyclerView, int newState) { }
+        public void onScrolled(RecyclerView recyclerView, int dx, int dy) { }
+    }
+
+    public abstract static class ItemDecoration {
+        public void onDraw(Canvas c, RecyclerView parent, State state) { }
+        public void onDrawOver(Canvas c, RecyclerView parent, State state) { }
+        public void getItemOffsets(Rect outRect, View view, RecyclerView parent, State state) { }
+    }
+
+    public static class State {
+        int mItemCount;
+        public int getItemCount() { return mItemCount; }
+        public boolean isPreLayout() { return false; }
+        public boolean didStructureChange() { return false; }
+    }
+
+    public static class LayoutParams extends ViewGroup.MarginLayoutParams {
+        ViewHolder mViewHolder;
+        public LayoutParams(int w, int h) { super(w, h); }
+        public LayoutParams(ViewGroup.LayoutParams source) { super(source); }
+        public int getViewAdapterPosition() { return mViewHolder.getAdapterPosition(); }
+        public int getViewLayoutPosition() { return mViewHolder.getLayoutPosition(); }
+    }
+
+    public abstract static class ViewCacheExtension {
+        public abstract View getViewForPositionAndType(Recycler recycler, int position, int type);
+    }
+
+    public static class RecycledViewPool {
+        private final android.util.SparseArray<ArrayList<ViewHolder>> mScrap = new android.util.SparseArray<ArrayList<ViewHolder>>();
+        private final android.util.SparseIntArray mMax = new android.util.SparseIntArray();
+        public void clear() { mScrap.clear(); }
+        public void setMaxRecycledViews(int viewType, int max) { mMax.put(viewType, max); }
+        public ViewHolder getRecycledView(int viewType) { ArrayList<ViewHolder> l = mScrap.get(viewType); return l == null || l.isEmpty() ? null : l.remove(l.size() - 1); }
+        public void putRecycledView(ViewHolder scrap) { ArrayList<ViewHolder> l = mScrap.get(scrap.getItemViewType()); if (l == null) { l = new ArrayList<ViewHolder>(); mScrap.put(scrap.getItemViewType(), l); } if (l.size() < mMax.get(scrap.getItemViewType(), 5)) l.add(scrap); }
+    }
+
+    public final class Recycler {
+        final ArrayList<ViewHolder> mAttachedScrap = new ArrayList<ViewHolder>();
+        public View getViewForPosition(int position) {
+            Adapter a = mAdapter;
+            int type = a.getItemViewType(position);
+            ViewHolder h = null;
+            for (int i = 0, n = mAttachedScrap.size(); i < n; i++) {
+                ViewHolder scrap = mAttachedScrap.get(i);
+                if (scrap.mPosition == position && scrap.mItemViewType == type && (scrap.mFlags & (ViewHolder.FLAG_INVALID | ViewHolder.FLAG_REMOVED)) == 0) { h = mAttachedScrap.remove(i); break; }
+            }
+            if (h == null) h = getRecycledViewPool().getRecycledView(type);
+            if (h == null) h = a.createViewHolder(RecyclerView.this, type);
+            //a scrapped holder of the position keeps its binding unless it was changed
+            if (h.mPosition != position || h.mFlags != 0) a.bindViewHolder(h, position);
+            ViewGroup.LayoutParams params = h.itemView.getLayoutParams();
+            LayoutParams lp = params instanceof LayoutParams ? (LayoutParams) params : mLayout != null ? mLayout.generateDefaultLayoutParams() : new LayoutParams(LayoutParams.MATCH_PARENT, LayoutParams.WRAP_CONTENT);
+            lp.mViewHolder = h;
+            h.itemView.setLayoutParams(lp);
+            return h.itemView;
+        }
+        public void recycleView(View view) { ViewHolder h = getChildViewHolder(view); if (h != null) recycleHolder(h); }
+        public void clear() { }
+        void recycleScrap() { for (int i = 0, n = mAttachedScrap.size(); i < n; i++) recycleHolder(mAttachedScrap.get(i)); mAttachedScrap.clear(); }
+        private void recycleHolder(ViewHolder h) { mAdapter.onViewRecycled(h); h.mPosition = NO_POSITION; getRecycledViewPool().putRecycledView(h); }
+    }
+
+    public abstract static class ViewHolder {
+        public final View itemView;
+        static final int FLAG_UPDATE = 1, FLAG_INVALID = 2, FLAG_REMOVED = 4;
+        int mPosition = NO_POSITION;
+        int mFlags;
+        int mItemViewType = -1;
+        long mItemId = NO_ID;
+        public ViewHolder(View itemView) { this.itemView = itemView; }
+        public final int getAdapterPosition() { return mPosition; }
+        public final int getLayoutPosition() { return mPosition; }
+        public final int getPosition() { return mPosition; }
+        public final int getItemViewType() { return mItemViewType; }
+        public final long getItemId() { return mItemId; }
+        public final boolean isRecyclable() { return true; }
+        public final void setIsRecyclable(boolean recyclable) { }
+    }
+
+    public abstract static class AdapterDataObserver {
+        public void onChanged() { }
+        public void onItemRangeChanged(int positionStart, int itemCount) { }
+        public void onItemRangeChanged(int positionStart, int itemCount, Object payload) { onItemRangeChanged(positionStart, itemCount); }
+        public void onItemRangeInserted(int positionStart, int itemCount) { }
+        public void onItemRangeRemoved(int positionStart, int itemCount) { }
+        public void onItemRangeMoved(int fromPosition, int toPosition, int itemCount) { }
+    }
+
+    public abstract static class Adapter<VH extends ViewHolder> {
+        private final ArrayList<AdapterDataObserver> mObservers = new ArrayList<AdapterDataObserver>();
+        private boolean mHasStableIds;
+        public abstract VH onCreateViewHolder(ViewGroup parent, int viewType);
+        public abstract void onBindViewHolder(VH holder, int position);
+        public void onBindViewHolder(VH holder, int position, List<Object> payloads) { onBindViewHolder(holder, position); }
+        public final VH createViewHolder(ViewGroup parent, int viewType) { VH h = onCreateViewHolder(parent, viewType); h.mItemViewType = viewType; return h; }
+        public final void bindViewHolder(VH holder, int position) { holder.mPosition = position; holder.mFlags = 0; if (mHasStableIds) holder.mItemId = getItemId(position); onBindViewHolder(holder, position, java.util.Collections.<Object>emptyList()); }
+        public int getItemViewType(int position) { return 0; }
+        public void setHasStableIds(boolean hasStableIds) { if (!mObservers.isEmpty()) throw new IllegalStateException("Cannot change whether this adapter has stable IDs while the adapter has registered observers."); mHasStableIds = hasStableIds; }
+        public long getItemId(int position) { return NO_ID; }
+        public abstract int getItemCount();
+        public final boolean hasStableIds() { return mHasStableIds; }
+        public void onViewRecycled(VH holder) { }
+        public boolean onFailedToRecycleView(VH holder) { return false; }
+        public void onViewAttachedToWindow(VH holder) { }
+        public void onViewDetachedFromWindow(VH holder) { }
+        public void onAttachedToRecyclerView(RecyclerView recyclerView) { }
+        public void onDetachedFromRecyclerView(RecyclerView recyclerView) { }
+        public final boolean hasObservers() { return !mObservers.isEmpty(); }
+        public void registerAdapterDataObserver(AdapterDataObserver observer) { mObservers.add(observer); }
+        public void unregisterAdapterDataObserver(AdapterDataObserver observer) { mObservers.remove(observer); }
+        public final void notifyDataSetChanged() { for (int i = mObservers.size() - 1; i >= 0; i--) mObservers.get(i).onChanged(); }
+        public final void notifyItemChanged(int position) { notifyItemRangeChanged(position, 1); }
+        public final void notifyItemChanged(int position, Object payload) { notifyItemRangeChanged(position, 1, payload); }
+        public final void notifyItemRangeChanged(int positionStart, int itemCount) { notifyItemRangeChanged(positionStart, itemCount, null); }
+        public final void notifyItemRangeChanged(int positionStart, int itemCount, Object payload) { for (int i = mObservers.size() - 1; i >= 0; i--) mObservers.get(i).onItemRangeChanged(positionStart, itemCount, payload); }
+        public final void notifyItemInserted(int position) { notifyItemRangeInserted(position, 1); }
+        public final void notifyItemMoved(int fromPosition, int toPosition) { for (int i = mObservers.size() - 1; i >= 0; i--) mObservers.get(i).onItemRangeMoved(fromPosition, toPosition, 1); }
+        public final void notifyItemRangeInserted(int positionStart, int itemCount) { for (int i = mObservers.size() - 1; i >= 0; i--) mObservers.get(i).onItemRangeInserted(positionStart, itemCount); }
+        public final void notifyItemRemoved(int position) { notifyItemRangeRemoved(position, 1); }
+        public final void notifyItemRangeRemoved(int positionStart, int itemCount) { for (int i = mObservers.size() - 1; i >= 0; i--) mObservers.get(i).onItemRangeRemoved(positionStart, itemCount); }
+    }
+
+    public abstract static class LayoutManager {
+        RecyclerView mRecyclerView;
+        public abstract LayoutParams generateDefaultLayoutParams();
+        public void onMeasure(Recycler recycler, State state, int widthSpec, int heightSpec) { }
+        public void setMeasuredDimension(int widthSize, int heightSize) { }
+        public int getChildCount() { return mRecyclerView == null ? 0 : mRecyclerView.getChildCount(); }
+        public void addView(View child) { addView(child, -1); }
+        public void addView(View child, int index) { mRecyclerView.addView(child, index); }
+        public void removeAllViews() { if (mRecyclerView != null) mRecyclerView.removeAllViews(); }
+        public void onLayoutChildren(Recycler recycler, State state) { }
+        public void detachAndScrapAttachedViews(Recycler recycler) {
+            for (int i = 0, n = getChildCount(); i < n; i++) { ViewHolder h = mRecyclerView.getChildViewHolder(getChildAt(i)); if (h != null) recycler.mAttachedScrap.add(h); }
+            mRecyclerView.removeAllViews();
+        }
+        public int scrollHorizontallyBy(int dx, Recycler recycler, State state) { return 0; }
+        public int scrollVerticallyBy(int dy, Recycler recycler, State state) { return 0; }
+        public boolean canScrollVertically() { return false; }
+        public boolean canScrollHorizontally() { return false; }
+        public View findViewByPosition(int position) { for (int i = 0, n = getChildCount(); i < n; i++) { View child = getChildAt(i); if (getPosition(child) == position) return child; } return null; }
+        public View getChildAt(int index) { return mRecyclerView == null ? null : mRecyclerView.getChildAt(index); }
+        public int getItemCount() { Adapter a = mRecyclerView == null ? null : mRecyclerView.getAdapter(); return a == null ? 0 : a.getItemCount(); }
+        public int getPaddingLeft() { return 0; } public int getPaddingRight() { return 0; }
+        public int getPaddingTop() { return 0; } public int getPaddingBottom() { return 0; }
+        public int getWidth() { return 0; } public int getHeight() { return 0; }
+        public int getPosition(View view) { return ((LayoutParams) view.getLayoutParams()).getViewLayoutPosition(); }
+        public int getDecoratedBottom(View child) { return child.getBottom(); }
+        public int getDecoratedTop(View child) { return child.getTop(); }
+        public int getDecoratedMeasuredHeight(View child) { return child.getMeasuredHeight(); }
+        public int getDecoratedMeasuredWidth(View child) { return child.getMeasuredWidth(); }
+        public void measureChildWithMargins(View child, int widthUsed, int heightUsed) { }
+        public void calculateItemDecorationsForChild(View child, Rect outRect) { }
+        public void requestLayout() { }
+        public boolean isAttachedToWindow() { return mRecyclerView != null; }
+        public void onAdapterChanged(Adapter oldAdapter, Adapter newAdapter) { }
+        public void onItemsChanged(RecyclerView recyclerView) { }
+        public void onItemsAdded(RecyclerView recyclerView, int positionStart, int itemCount) { }
+        public void onItemsRemoved(RecyclerView recyclerView, int positionStart, int itemCount) { }
+        public void onItemsUpdated(RecyclerView recyclerView, int positionStart, int itemCount) { }
+        public void onItemsMoved(RecyclerView recyclerView, int from, int to, int itemCount) { }
+        public void onAttachedToWindow(RecyclerView view) { }
+        public void onDetachedFromWindow(RecyclerView view, Recycler recycler) { }
+    }
+}
@@ -0,0 +1,18 @@
+package android.support.v7.widget;
+public class StaggeredGridLayoutManager extends RecyclerView.LayoutManager {
+    public static final int HORIZONTAL = 0, VERTICAL = 1;
+    private final int mSpanCount;
+    public StaggeredGridLayoutManager(int spanCount, int orientation) { mSpanCount = spanCount; }
+    public RecyclerView.LayoutParams generateDefaultLayoutParams() { return new LayoutParams(-2, -2); }
+    public int getSpanCount() { return mSpanCount; }
+    public int getOrientation() { return VERTICAL; }
+    public int[] findFirstVisibleItemPositions(int[] into) { return into == null ? new int[mSpanCount] : into; }
+    public int[] findLastVisibleItemPositions(int[] into) { return into == null ? new int[mSpanCount] : into; }
+    public void scrollToPositionWithOffset(int position, int offset) { }
+    public static class LayoutParams extends RecyclerView.LayoutParams {
+        boolean mFullSpan;
+        public LayoutParams(int w, int h) { super(w, h); }
+        public void setFullSpan(boolean fullSpan) { mFullSpan = fullSpan; }
+        public boolean isFullSpan() { return mFullSpan; }
+    }
+}
@@ -0,0 +1,9 @@
+package android.text;
+public abstract class Layout {
+    public enum Alignment { ALIGN_NORMAL, ALIGN_OPPOSITE, ALIGN_CENTER }
+    public int getLineCount() { return 1; }
+    public int getWidth() { return 0; } public int getHeight() { return 0; }
+    public final CharSequence getText() { return null; }
+    public void draw(android.graphics.Canvas c) { }
+    public static float getDesiredWidth(CharSequence source, TextPaint paint) { return 0f; }
+}
@@ -0,0 +1,4 @@
+package android.text;
+public class StaticLayout extends Layout {
+    public StaticLayout(CharSequence source, TextPaint paint, int width, Layout.Alignment align, float spacingmult, float spacingadd, boolean includepad) { }
+}
@@ -0,0 +1,2 @@
+package android.util;
+public class DisplayMetrics { public float density = 1f; public float scaledDensity = 1f; public int heightPixels = 1920; public int widthPixels = 1080; }
@@ -0,0 +1,18 @@
+package android.util;
+public class SparseArray<E> {
+    private final java.util.TreeMap<Integer, E> mMap = new java.util.TreeMap<Integer, E>();
+    public SparseArray() { }
+    public SparseArray(int initialCapacity) { }
+    public E get(int key) { return mMap.get(key); }
+    public E get(int key, E valueIfKeyNotFound) { E e = mMap.get(key); return e == null ? valueIfKeyNotFound : e; }
+    public void put(int key, E value) { mMap.put(key, value); }
+    public void remove(int key) { mMap.remove(key); }
+    public void delete(int key) { mMap.remove(key); }
+    public void removeAt(int index) { mMap.remove(keyAt(index)); }
+    public int size() { return mMap.size(); }
+    public int keyAt(int index) { return (Integer) mMap.keySet().toArray()[index]; }
+    @SuppressWarnings("unchecked")
+    public E valueAt(int index) { return (E) mMap.values().toArray()[index]; }
+    public int indexOfKey(int key) { return mMap.containsKey(key) ? mMap.headMap(key).size() : -1; }
+    public void clear() { mMap.clear(); }
+}
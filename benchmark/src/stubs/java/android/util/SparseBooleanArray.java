@@ -0,0 +1,12 @@
+package android.util;
+public class SparseBooleanArray {
+    private final java.util.TreeMap<Integer, Boolean> mMap = new java.util.TreeMap<Integer, Boolean>();
+    public boolean get(int key) { return get(key, false); }
+    public boolean get(int key, boolean def) { Boolean v = mMap.get(key); return v == null ? def : v; }
+    public void put(int key, boolean value) { mMap.put(key, value); }
+    public void delete(int key) { mMap.remove(key); }
+    public int size() { return mMap.size(); }
+    public int keyAt(int index) { return (Integer) mMap.keySet().toArray()[index]; }
+    public boolean valueAt(int index) { return (Boolean) mMap.values().toArray()[index]; }
+    public void clear() { mMap.clear(); }
+}
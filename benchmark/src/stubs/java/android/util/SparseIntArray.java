@@ -0,0 +1,14 @@
+package android.util;
+public class SparseIntArray {
+    private final java.util.TreeMap<Integer, Integer> mMap = new java.util.TreeMap<Integer, Integer>();
+    public SparseIntArray() { } public SparseIntArray(int capacity) { }
+    public int get(int key) { return get(key, 0); }
+    public int get(int key, int def) { Integer v = mMap.get(key); return v == null ? def : v; }
+    public void put(int key, int value) { mMap.put(key, value); }
+    public void delete(int key) { mMap.remove(key); }
+    public int size() { return mMap.size(); }
+    public int keyAt(int index) { return (Integer) mMap.keySet().toArray()[index]; }
+    public int valueAt(int index) { return (Integer) mMap.values().toArray()[index]; }
+    public int indexOfKey(int key) { return mMap.containsKey(key) ? mMap.headMap(key).size() : -1; }
+    public void clear() { mMap.clear(); }
+}
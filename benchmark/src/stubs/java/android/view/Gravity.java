@@ -0,0 +1,2 @@
+package android.view;
+public class Gravity { public static final int CENTER = 17; }
@@ -0,0 +1,6 @@
+package android.view;
+import android.content.Context;
+public abstract class LayoutInflater {
+    public static LayoutInflater from(Context context) { return null; }
+    public abstract View inflate(int resource, ViewGroup root, boolean attachToRoot);
+}
@@ -0,0 +1,60 @@
+package android.view;
+import android.content.Context;
+public class View {
+    public interface OnClickListener { void onClick(View v); }
+    public interface OnLongClickListener { boolean onLongClick(View v); }
+    public static class MeasureSpec {
+        public static final int UNSPECIFIED = 0, EXACTLY = 1 << 30, AT_MOST = 2 << 30;
+        private static final int MODE_MASK = 3 << 30;
+        public static int makeMeasureSpec(int size, int mode) { return (size & ~MODE_MASK) | (mode & MODE_MASK); }
+        public static int getMode(int spec) { return spec & MODE_MASK; }
+        public static int getSize(int spec) { return spec & ~MODE_MASK; }
+    }
+    public static final int VISIBLE = 0, INVISIBLE = 4, GONE = 8;
+    private Context mContext;
+    private Object mTag;
+    private ViewGroup.LayoutParams mLayoutParams;
+    private int mMeasuredWidth, mMeasuredHeight;
+    int mLeft, mTop, mRight, mBottom;
+    private OnClickListener mOnClickListener;
+    public View(Context context) { mContext = context; }
+    public View(Context context, android.util.AttributeSet attrs) { mContext = context; }
+    public View(Context context, android.util.AttributeSet attrs, int defStyle) { mContext = context; }
+    public Context getContext() { return mContext; }
+    public android.content.res.Resources getResources() { return mContext.getResources(); }
+    public void setOnClickListener(OnClickListener l) { mOnClickListener = l; }
+    public void setClickable(boolean clickable) { }
+    public void setOnLongClickListener(OnLongClickListener l) { }
+    public boolean performClick() { if (mOnClickListener != null) { mOnClickListener.onClick(this); return true; } return false; }
+    public Object getTag() { return mTag; }
+    public void setTag(Object tag) { mTag = tag; }
+    public ViewGroup.LayoutParams getLayoutParams() { return mLayoutParams; }
+    public void setLayoutParams(ViewGroup.LayoutParams params) { mLayoutParams = params; }
+    public void measure(int w, int h) { mMeasuredWidth = MeasureSpec.getSize(w); mMeasuredHeight = MeasureSpec.getSize(h); }
+    public final int getMeasuredWidth() { return mMeasuredWidth; }
+    public final int getMeasuredHeight() { return mMeasuredHeight; }
+    protected final void setMeasuredDimension(int w, int h) { mMeasuredWidth = w; mMeasuredHeight = h; }
+    public final int getLeft() { return mLeft; } public final int getTop() { return mTop; }
+    public final int getRight() { return mRight; } public final int getBottom() { return mBottom; }
+    public final int getWidth() { return mRight - mLeft; } public final int getHeight() { return mBottom - mTop; }
+    public android.os.IBinder getWindowToken() { return null; }
+    public boolean isLayoutRequested() { return false; }
+    public long getDrawingTime() { return android.os.SystemClock.uptimeMillis(); }
+    public int getPaddingLeft() { return 0; } public int getPaddingRight() { return 0; }
+    public int getPaddingTop() { return 0; } public int getPaddingBottom() { return 0; }
+    private static android.os.Handler sHandler;
+    private static android.os.Handler handler() { if (sHandler == null) sHandler = new android.os.Handler(android.os.Looper.getMainLooper()); return sHandler; }
+    public boolean post(Runnable r) { return handler().post(r); }
+    public boolean postDelayed(Runnable r, long d) { return handler().postDelayed(r, d); }
+    public boolean removeCallbacks(Runnable r) { handler().removeCallbacks(r); return true; }
+    public void requestLayout() { }
+    public void invalidate() { }
+    public void setVisibility(int v) { }
+    public void setMinimumHeight(int h) { }
+    protected void onAttachedToWindow() { }
+    protected void onDetachedFromWindow() { }
+    protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) { }
+    protected void onDraw(android.graphics.Canvas canvas) { }
+    public void setBackgroundColor(int color) { }
+    public void setPadding(int l, int t, int r, int b) { }
+}
@@ -0,0 +1,34 @@
+package android.view;
+import android.content.Context;
+public abstract class ViewGroup extends View {
+    public static class LayoutParams {
+        public static final int MATCH_PARENT = -1, WRAP_CONTENT = -2;
+        public int width, height;
+        public LayoutParams(int w, int h) { width = w; height = h; }
+        public LayoutParams(LayoutParams source) { width = source.width; height = source.height; }
+    }
+    public static class MarginLayoutParams extends LayoutParams {
+        public int leftMargin, topMargin, rightMargin, bottomMargin;
+        public MarginLayoutParams(int w, int h) { super(w, h); }
+        public MarginLayoutParams(LayoutParams source) { super(source); }
+    }
+    public ViewGroup(Context context) { super(context); }
+    public ViewGroup(Context context, android.util.AttributeSet attrs) { super(context, attrs); }
+    public ViewGroup(Context context, android.util.AttributeSet attrs, int defStyle) { super(context, attrs, defStyle); }
+    public static int getChildMeasureSpec(int spec, int padding, int childDimension) {
+        int specMode = MeasureSpec.getMode(spec);
+        int size = Math.max(0, MeasureSpec.getSize(spec) - padding);
+        if (childDimension >= 0) return MeasureSpec.makeMeasureSpec(childDimension, MeasureSpec.EXACTLY);
+        if (childDimension == LayoutParams.MATCH_PARENT) return MeasureSpec.makeMeasureSpec(size, specMode == MeasureSpec.UNSPECIFIED ? MeasureSpec.UNSPECIFIED : MeasureSpec.EXACTLY);
+        return MeasureSpec.makeMeasureSpec(size, specMode == MeasureSpec.UNSPECIFIED ? MeasureSpec.UNSPECIFIED : MeasureSpec.AT_MOST);
+    }
+    private final java.util.ArrayList<View> mChildren = new java.util.ArrayList<View>();
+    public void addView(View child) { addView(child, -1); }
+    public void addView(View child, int index) { if (index < 0) mChildren.add(child); else mChildren.add(index, child); }
+    public void removeView(View view) { mChildren.remove(view); }
+    public void removeViewAt(int index) { mChildren.remove(index); }
+    public void removeAllViews() { mChildren.clear(); }
+    public int indexOfChild(View child) { return mChildren.indexOf(child); }
+    public int getChildCount() { return mChildren.size(); }
+    public View getChildAt(int index) { return index < 0 || index >= mChildren.size() ? null : mChildren.get(index); }
+}
@@ -0,0 +1,10 @@
+package android.widget;
+import android.content.Context;
+public class TextView extends android.view.View {
+    private CharSequence mText = "";
+    public TextView(Context context) { super(context); }
+    public void setText(CharSequence text) { mText = text; }
+    public void setText(int resId) { mText = getResources().getString(resId); }
+    public CharSequence getText() { return mText; }
+    public void setGravity(int gravity) { }
+}
@@ -0,0 +1,4 @@
+package com.liangren.lrrecycleview;
+public final class R {
+    public static final class string { public static final int loading = 1; public static final int load_more_retry = 2; }
+}